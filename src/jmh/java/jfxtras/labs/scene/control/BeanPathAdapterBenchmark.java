@@ -0,0 +1,588 @@
+/**
+ * BeanPathAdapterBenchmark.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for the {@link BeanPathAdapter} hot paths. Run them using
+ * <code>gradlew jmh</code> (optionally with
+ * <code>-PjmhInclude=BeanPathAdapterBenchmark</code>), which also enables the
+ * GC profiler so that allocation rates are reported alongside the timings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanPathAdapterBenchmark {
+
+	private static final int LIST_SIZE = 10000;
+
+	/**
+	 * State for the binding benchmarks (a new adapter/bean per invocation
+	 * because binding mutates the adapter's field tree, and a new property per
+	 * invocation so that its listener list does not grow over the trial)
+	 */
+	@State(Scope.Thread)
+	public static class BindState {
+
+		StringProperty property;
+
+		@Setup(Level.Invocation)
+		public void setup() {
+			property = new SimpleStringProperty();
+		}
+	}
+
+	/**
+	 * State for the benchmarks that operate on an already bound adapter
+	 */
+	@State(Scope.Thread)
+	public static class BoundState {
+
+		Person person1;
+		Person person2;
+		WideBean wide1;
+		WideBean wide2;
+		BeanPathAdapter<Person> personPA;
+		BeanPathAdapter<WideBean> widePA;
+		final StringProperty name = new SimpleStringProperty();
+		final DoubleProperty age = new SimpleDoubleProperty();
+		final ObjectProperty<Date> dob = new SimpleObjectProperty<>();
+		final ObservableList<String> languages = FXCollections
+				.observableArrayList();
+		final List<String> items1 = new ArrayList<>(LIST_SIZE);
+		final List<String> items2 = new ArrayList<>(LIST_SIZE);
+		final Date date1 = new Date(0L);
+		final Date date2 = new Date(86400000L);
+		int counter;
+
+		@Setup
+		public void setup() {
+			for (int i = 0; i < LIST_SIZE; i++) {
+				items1.add("Language " + i);
+				items2.add("Other language " + i);
+			}
+			person1 = new Person();
+			person2 = new Person();
+			person2.setLanguages(new ArrayList<>(items1));
+			personPA = new BeanPathAdapter<>(person1);
+			personPA.bindBidirectional("name", name);
+			personPA.bindBidirectional("age", age);
+			personPA.bindBidirectional("dob", dob, Date.class);
+			personPA.bindContentBidirectional("languages", null, String.class,
+					languages, String.class, null, null);
+			wide1 = WideBean.create("a");
+			wide2 = WideBean.create("b");
+			widePA = new BeanPathAdapter<>(wide1);
+			for (final String fieldName : WideBean.FIELD_NAMES) {
+				widePA.bindBidirectional(fieldName, new SimpleStringProperty());
+			}
+		}
+	}
+
+	@Benchmark
+	public BeanPathAdapter<Person> bindBidirectionalShallow(
+			final BindState state) {
+		final BeanPathAdapter<Person> pa = new BeanPathAdapter<>(new Person());
+		pa.bindBidirectional("name", state.property);
+		return pa;
+	}
+
+	@Benchmark
+	public BeanPathAdapter<Person> bindBidirectionalDeep(final BindState state) {
+		final BeanPathAdapter<Person> pa = new BeanPathAdapter<>(new Person());
+		pa.bindBidirectional("address.location.state", state.property);
+		return pa;
+	}
+
+	@Benchmark
+	public BeanPathAdapter<WideBean> setBeanWide(final BoundState state) {
+		state.widePA.setBean(state.widePA.getBean() == state.wide1 ? state.wide2
+				: state.wide1);
+		return state.widePA;
+	}
+
+	@Benchmark
+	public Person fieldPropertySetString(final BoundState state) {
+		state.name.set((state.counter++ & 1) == 0 ? "Name 1" : "Name 2");
+		return state.person1;
+	}
+
+	@Benchmark
+	public Person fieldPropertySetNumber(final BoundState state) {
+		state.age.set(state.counter++);
+		return state.person1;
+	}
+
+	@Benchmark
+	public Person fieldPropertySetDate(final BoundState state) {
+		state.dob.set((state.counter++ & 1) == 0 ? state.date1 : state.date2);
+		return state.person1;
+	}
+
+	@Benchmark
+	public ObservableList<String> bindContentBidirectionalToBean(
+			final BoundState state) {
+		// observable list -> bean collection
+		state.languages.setAll((state.counter++ & 1) == 0 ? state.items1
+				: state.items2);
+		return state.languages;
+	}
+
+	@Benchmark
+	public ObservableList<String> bindContentBidirectionalFromBean(
+			final BoundState state) {
+		// bean collection -> observable list
+		state.personPA.setBean(state.personPA.getBean() == state.person1 ? state.person2
+				: state.person1);
+		return state.languages;
+	}
+
+	/**
+	 * Benchmark bean
+	 */
+	public static class Person {
+
+		private String name;
+		private double age;
+		private Date dob;
+		private Address address;
+		private List<String> languages;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(final String name) {
+			this.name = name;
+		}
+
+		public double getAge() {
+			return age;
+		}
+
+		public void setAge(final double age) {
+			this.age = age;
+		}
+
+		public Date getDob() {
+			return dob;
+		}
+
+		public void setDob(final Date dob) {
+			this.dob = dob;
+		}
+
+		public Address getAddress() {
+			return address;
+		}
+
+		public void setAddress(final Address address) {
+			this.address = address;
+		}
+
+		public List<String> getLanguages() {
+			return languages;
+		}
+
+		public void setLanguages(final List<String> languages) {
+			this.languages = languages;
+		}
+	}
+
+	/**
+	 * Benchmark sub-bean
+	 */
+	public static class Address {
+
+		private Location location;
+
+		public Location getLocation() {
+			return location;
+		}
+
+		public void setLocation(final Location location) {
+			this.location = location;
+		}
+	}
+
+	/**
+	 * Benchmark sub-sub-bean
+	 */
+	public static class Location {
+
+		private String state;
+
+		public String getState() {
+			return state;
+		}
+
+		public void setState(final String state) {
+			this.state = state;
+		}
+	}
+
+	/**
+	 * Benchmark bean with many fields
+	 */
+	public static class WideBean {
+
+		static final int FIELD_COUNT = 32;
+		static final String[] FIELD_NAMES = new String[FIELD_COUNT];
+		static {
+			for (int i = 0; i < FIELD_COUNT; i++) {
+				FIELD_NAMES[i] = "f" + i;
+			}
+		}
+		private String f0, f1, f2, f3, f4, f5, f6, f7;
+		private String f8, f9, f10, f11, f12, f13, f14, f15;
+		private String f16, f17, f18, f19, f20, f21, f22, f23;
+		private String f24, f25, f26, f27, f28, f29, f30, f31;
+
+		static WideBean create(final String prefix) {
+			final WideBean wb = new WideBean();
+			wb.f0 = prefix + 0;
+			wb.f1 = prefix + 1;
+			wb.f2 = prefix + 2;
+			wb.f3 = prefix + 3;
+			wb.f4 = prefix + 4;
+			wb.f5 = prefix + 5;
+			wb.f6 = prefix + 6;
+			wb.f7 = prefix + 7;
+			wb.f8 = prefix + 8;
+			wb.f9 = prefix + 9;
+			wb.f10 = prefix + 10;
+			wb.f11 = prefix + 11;
+			wb.f12 = prefix + 12;
+			wb.f13 = prefix + 13;
+			wb.f14 = prefix + 14;
+			wb.f15 = prefix + 15;
+			wb.f16 = prefix + 16;
+			wb.f17 = prefix + 17;
+			wb.f18 = prefix + 18;
+			wb.f19 = prefix + 19;
+			wb.f20 = prefix + 20;
+			wb.f21 = prefix + 21;
+			wb.f22 = prefix + 22;
+			wb.f23 = prefix + 23;
+			wb.f24 = prefix + 24;
+			wb.f25 = prefix + 25;
+			wb.f26 = prefix + 26;
+			wb.f27 = prefix + 27;
+			wb.f28 = prefix + 28;
+			wb.f29 = prefix + 29;
+			wb.f30 = prefix + 30;
+			wb.f31 = prefix + 31;
+			return wb;
+		}
+
+		public String getF0() {
+			return f0;
+		}
+
+		public void setF0(final String f0) {
+			this.f0 = f0;
+		}
+
+		public String getF1() {
+			return f1;
+		}
+
+		public void setF1(final String f1) {
+			this.f1 = f1;
+		}
+
+		public String getF2() {
+			return f2;
+		}
+
+		public void setF2(final String f2) {
+			this.f2 = f2;
+		}
+
+		public String getF3() {
+			return f3;
+		}
+
+		public void setF3(final String f3) {
+			this.f3 = f3;
+		}
+
+		public String getF4() {
+			return f4;
+		}
+
+		public void setF4(final String f4) {
+			this.f4 = f4;
+		}
+
+		public String getF5() {
+			return f5;
+		}
+
+		public void setF5(final String f5) {
+			this.f5 = f5;
+		}
+
+		public String getF6() {
+			return f6;
+		}
+
+		public void setF6(final String f6) {
+			this.f6 = f6;
+		}
+
+		public String getF7() {
+			return f7;
+		}
+
+		public void setF7(final String f7) {
+			this.f7 = f7;
+		}
+
+		public String getF8() {
+			return f8;
+		}
+
+		public void setF8(final String f8) {
+			this.f8 = f8;
+		}
+
+		public String getF9() {
+			return f9;
+		}
+
+		public void setF9(final String f9) {
+			this.f9 = f9;
+		}
+
+		public String getF10() {
+			return f10;
+		}
+
+		public void setF10(final String f10) {
+			this.f10 = f10;
+		}
+
+		public String getF11() {
+			return f11;
+		}
+
+		public void setF11(final String f11) {
+			this.f11 = f11;
+		}
+
+		public String getF12() {
+			return f12;
+		}
+
+		public void setF12(final String f12) {
+			this.f12 = f12;
+		}
+
+		public String getF13() {
+			return f13;
+		}
+
+		public void setF13(final String f13) {
+			this.f13 = f13;
+		}
+
+		public String getF14() {
+			return f14;
+		}
+
+		public void setF14(final String f14) {
+			this.f14 = f14;
+		}
+
+		public String getF15() {
+			return f15;
+		}
+
+		public void setF15(final String f15) {
+			this.f15 = f15;
+		}
+
+		public String getF16() {
+			return f16;
+		}
+
+		public void setF16(final String f16) {
+			this.f16 = f16;
+		}
+
+		public String getF17() {
+			return f17;
+		}
+
+		public void setF17(final String f17) {
+			this.f17 = f17;
+		}
+
+		public String getF18() {
+			return f18;
+		}
+
+		public void setF18(final String f18) {
+			this.f18 = f18;
+		}
+
+		public String getF19() {
+			return f19;
+		}
+
+		public void setF19(final String f19) {
+			this.f19 = f19;
+		}
+
+		public String getF20() {
+			return f20;
+		}
+
+		public void setF20(final String f20) {
+			this.f20 = f20;
+		}
+
+		public String getF21() {
+			return f21;
+		}
+
+		public void setF21(final String f21) {
+			this.f21 = f21;
+		}
+
+		public String getF22() {
+			return f22;
+		}
+
+		public void setF22(final String f22) {
+			this.f22 = f22;
+		}
+
+		public String getF23() {
+			return f23;
+		}
+
+		public void setF23(final String f23) {
+			this.f23 = f23;
+		}
+
+		public String getF24() {
+			return f24;
+		}
+
+		public void setF24(final String f24) {
+			this.f24 = f24;
+		}
+
+		public String getF25() {
+			return f25;
+		}
+
+		public void setF25(final String f25) {
+			this.f25 = f25;
+		}
+
+		public String getF26() {
+			return f26;
+		}
+
+		public void setF26(final String f26) {
+			this.f26 = f26;
+		}
+
+		public String getF27() {
+			return f27;
+		}
+
+		public void setF27(final String f27) {
+			this.f27 = f27;
+		}
+
+		public String getF28() {
+			return f28;
+		}
+
+		public void setF28(final String f28) {
+			this.f28 = f28;
+		}
+
+		public String getF29() {
+			return f29;
+		}
+
+		public void setF29(final String f29) {
+			this.f29 = f29;
+		}
+
+		public String getF30() {
+			return f30;
+		}
+
+		public void setF30(final String f30) {
+			this.f30 = f30;
+		}
+
+		public String getF31() {
+			return f31;
+		}
+
+		public void setF31(final String f31) {
+			this.f31 = f31;
+		}
+	}
+}
@@ -30,19 +30,159 @@
 package jfxtras.labs.internal.scene.control.behavior;
 
 import java.util.ArrayList;
+import java.util.List;
 
+import javafx.collections.ObservableList;
+import javafx.scene.input.KeyCode;
+import jfxtras.labs.internal.scene.control.skin.GridViewSkin;
+import jfxtras.labs.scene.control.grid.GridSelectionModel;
 import jfxtras.labs.scene.control.grid.GridView;
 
 import com.sun.javafx.scene.control.behavior.BehaviorBase;
 import com.sun.javafx.scene.control.behavior.KeyBinding;
 
 /**
+ * Keyboard and mouse selection for the {@link GridView}. The arrow keys move
+ * the focus to the neighbouring cell; up and down keep the column, computed
+ * by {@link GridViewSkin#computeRowIndexForItem(int)} and
+ * {@link GridViewSkin#computeColumnIndexForItem(int)}. With shift the range
+ * from the anchor to the new cell is selected.
  * 
  * @author Hendrik Ebbers
  * 
  */
 public class GridViewBehavior<T> extends BehaviorBase<GridView<T>> {
+
+    protected static final List<KeyBinding> GRID_VIEW_BINDINGS = new ArrayList<KeyBinding>();
+    static {
+        GRID_VIEW_BINDINGS.add(new KeyBinding(KeyCode.LEFT, "SelectLeft"));
+        GRID_VIEW_BINDINGS.add(new KeyBinding(KeyCode.RIGHT, "SelectRight"));
+        GRID_VIEW_BINDINGS.add(new KeyBinding(KeyCode.UP, "SelectUp"));
+        GRID_VIEW_BINDINGS.add(new KeyBinding(KeyCode.DOWN, "SelectDown"));
+        GRID_VIEW_BINDINGS.add(new KeyBinding(KeyCode.HOME, "SelectFirst"));
+        GRID_VIEW_BINDINGS.add(new KeyBinding(KeyCode.END, "SelectLast"));
+        GRID_VIEW_BINDINGS.add(new KeyBinding(KeyCode.LEFT, "ExtendLeft").shift());
+        GRID_VIEW_BINDINGS.add(new KeyBinding(KeyCode.RIGHT, "ExtendRight").shift());
+        GRID_VIEW_BINDINGS.add(new KeyBinding(KeyCode.UP, "ExtendUp").shift());
+        GRID_VIEW_BINDINGS.add(new KeyBinding(KeyCode.DOWN, "ExtendDown").shift());
+        GRID_VIEW_BINDINGS.add(new KeyBinding(KeyCode.HOME, "ExtendFirst").shift());
+        GRID_VIEW_BINDINGS.add(new KeyBinding(KeyCode.END, "ExtendLast").shift());
+        GRID_VIEW_BINDINGS.add(new KeyBinding(KeyCode.A, "SelectAll").shortcut());
+        GRID_VIEW_BINDINGS.add(new KeyBinding(KeyCode.SPACE, "Toggle").shortcut());
+    }
+
     public GridViewBehavior(GridView<T> control) {
-        super(control,new ArrayList<KeyBinding>());
+        super(control, GRID_VIEW_BINDINGS);
+    }
+
+    @Override
+    protected void callAction(String name) {
+        GridSelectionModel<T> selectionModel = getControl().getSelectionModel();
+        if ("SelectAll".equals(name)) {
+            selectionModel.selectAll();
+            return;
+        }
+        int itemCount = getItemCount();
+        if (itemCount == 0) {
+            super.callAction(name);
+            return;
+        }
+        int focused = selectionModel.getFocusedIndex();
+        if ("Toggle".equals(name)) {
+            if (focused >= 0) {
+                selectionModel.toggle(focused);
+            }
+            return;
+        }
+        boolean extend = name.startsWith("Extend");
+        String direction = name.substring(extend ? "Extend".length() : "Select".length());
+        int target = computeTargetIndex(direction, focused, itemCount);
+        if (target < 0) {
+            super.callAction(name);
+            return;
+        }
+        select(target, extend, false);
+    }
+
+    /**
+     * Selects the cell that has been pressed with the mouse.
+     * 
+     * @param index
+     *            the index of the pressed cell
+     * @param shift
+     *            <code>true</code> to select the range from the anchor
+     * @param shortcut
+     *            <code>true</code> to toggle the cell
+     */
+    public void cellPressed(int index, boolean shift, boolean shortcut) {
+        if (index < 0 || index >= getItemCount()) {
+            return;
+        }
+        getControl().requestFocus();
+        select(index, shift, shortcut);
+    }
+
+    private void select(int index, boolean extend, boolean toggle) {
+        GridSelectionModel<T> selectionModel = getControl().getSelectionModel();
+        if (extend) {
+            selectionModel.selectRangeFromAnchor(index);
+        } else if (toggle) {
+            selectionModel.toggle(index);
+        } else {
+            selectionModel.clearAndSelect(index);
+        }
+        GridViewSkin<T> skin = getSkin();
+        if (skin != null) {
+            skin.scrollToIndex(index);
+        }
+    }
+
+    /**
+     * @return the index the focus moves to or -1 if the direction is unknown
+     */
+    private int computeTargetIndex(String direction, int focused, int itemCount) {
+        if (focused < 0) {
+            return 0;
+        }
+        GridViewSkin<T> skin = getSkin();
+        int cellsInRow = skin == null ? 1 : skin.computeMaxCellsInRow();
+        switch (direction) {
+        case "Left":
+            return Math.max(0, focused - 1);
+        case "Right":
+            return Math.min(itemCount - 1, focused + 1);
+        case "Up":
+        case "Down":
+            if (skin == null) {
+                return focused;
+            }
+            int row = skin.computeRowIndexForItem(focused)
+                    + ("Up".equals(direction) ? -1 : 1);
+            int column = skin.computeColumnIndexForItem(focused);
+            if (row < 0) {
+                return focused;
+            }
+            // the last row may be shorter, so stay inside the items
+            return Math.min(itemCount - 1, row * cellsInRow + column);
+        case "First":
+            return 0;
+        case "Last":
+            return itemCount - 1;
+        default:
+            return -1;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private GridViewSkin<T> getSkin() {
+        if (getControl().getSkin() instanceof GridViewSkin) {
+            return (GridViewSkin<T>) getControl().getSkin();
+        }
+        return null;
+    }
+
+    private int getItemCount() {
+        ObservableList<T> items = getControl().getItems();
+        return items == null ? 0 : items.size();
     }
 }
@@ -0,0 +1,127 @@
+/**
+ * GridCellPool.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.internal.scene.control.skin;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
+import javafx.util.Callback;
+import jfxtras.labs.scene.control.grid.GridCell;
+import jfxtras.labs.scene.control.grid.GridView;
+
+/**
+ * Pool of {@link GridCell}s that are currently not used by a
+ * {@link GridViewSkin}. Cells are only created by the cell factory if the
+ * pool is empty; otherwise a pooled cell is handed out and receives its new
+ * item through {@link GridCell#setItem(Object)} and
+ * {@link GridCell#updateIndex(int)}. Every cell that is given back is
+ * {@link GridCell#recycle() recycled} so it can release the resources of its
+ * last item.
+ * 
+ * @param <T>
+ *            the type of the items of the grid
+ */
+class GridCellPool<T> {
+
+	private final Deque<GridCell<T>> cells = new ArrayDeque<>();
+
+	private final ReadOnlyLongWrapper cellFactoryInvocations = new ReadOnlyLongWrapper(
+			this, "cellFactoryInvocations");
+
+	private final Callback<GridView<T>, GridCell<T>> cellFactory;
+
+	/**
+	 * @param cellFactory
+	 *            the factory that creates new cells if the pool is empty
+	 */
+	public GridCellPool(Callback<GridView<T>, GridCell<T>> cellFactory) {
+		this.cellFactory = cellFactory;
+	}
+
+	/**
+	 * Returns a pooled cell or a new one from the cell factory if the pool is
+	 * empty.
+	 * 
+	 * @param gridView
+	 *            the grid view the factory is called for
+	 * @return a cell that can be bound to an item
+	 */
+	public GridCell<T> obtain(GridView<T> gridView) {
+		GridCell<T> cell = cells.pollFirst();
+		if (cell == null) {
+			cell = cellFactory.call(gridView);
+			cellFactoryInvocations.set(cellFactoryInvocations.get() + 1);
+		}
+		return cell;
+	}
+
+	/**
+	 * Recycles the given cell and puts it into the pool.
+	 * 
+	 * @param cell
+	 *            a cell that is no longer used for its item
+	 */
+	public void release(GridCell<T> cell) {
+		cell.recycle();
+		cells.addFirst(cell);
+	}
+
+	/**
+	 * Removes cells from the pool until it contains no more than the given
+	 * number of cells.
+	 * 
+	 * @param maxSize
+	 *            the maximum number of pooled cells
+	 * @return the removed cells, which must no longer be used
+	 */
+	public Deque<GridCell<T>> trim(int maxSize) {
+		Deque<GridCell<T>> removed = new ArrayDeque<>();
+		while (cells.size() > maxSize) {
+			removed.add(cells.pollLast());
+		}
+		return removed;
+	}
+
+	/**
+	 * @return the number of cells in the pool
+	 */
+	public int size() {
+		return cells.size();
+	}
+
+	/**
+	 * @return the number of cells that have been created by the cell factory
+	 */
+	public ReadOnlyLongProperty cellFactoryInvocationsProperty() {
+		return cellFactoryInvocations.getReadOnlyProperty();
+	}
+}
@@ -29,31 +29,115 @@
 
 package jfxtras.labs.internal.scene.control.skin;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javafx.beans.property.ReadOnlyLongProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.event.EventHandler;
+import javafx.geometry.HPos;
+import javafx.geometry.Orientation;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+import javafx.util.Callback;
 import jfxtras.labs.internal.scene.control.behavior.GridViewBehavior;
 import jfxtras.labs.scene.control.grid.GridCell;
+import jfxtras.labs.scene.control.grid.GridSelectionModel;
 import jfxtras.labs.scene.control.grid.GridView;
 import jfxtras.labs.scene.control.grid.cell.DefaultGridCell;
 
 /**
+ * Virtualized skin for the {@link GridView}. Only the cells of the rows that
+ * are currently visible (plus {@link #BUFFER_ROWS} rows above and below the
+ * viewport) are realized. Cells that scroll out of the viewport are put into a
+ * {@link GridCellPool} and handed to the next row that scrolls in, so the
+ * number of nodes depends on the size of the viewport and not on the number
+ * of items. The cell factory is only called if the pool is empty.
  * 
  * @author Hendrik Ebbers
  * 
  */
 public class GridViewSkin<T> extends com.sun.javafx.scene.control.skin.BehaviorSkinBase<GridView<T>, GridViewBehavior<T>> {
 
+	/**
+	 * The number of rows that are realized above and below the visible rows
+	 */
+	protected static final int BUFFER_ROWS = 1;
+
+	private static final byte CELL_CURRENT = 0;
+
+	private static final byte CELL_REPLACED = 1;
+
+	private static final byte CELL_UPDATED = 2;
+
 	private ListChangeListener<T> itemsListener;
 
 	private ChangeListener<Number> layoutListener;
 
 	private ChangeListener<ObservableList<T>> itemListChangedListener;
 
+	private ChangeListener<Callback<GridView<T>, GridCell<T>>> cellFactoryListener;
+
+	private final Pane sheet;
+
+	private final Rectangle clip;
+
+	private final ScrollBar vbar;
+
+	/**
+	 * The realized cells, mapped by the item index they currently show
+	 */
+	private final Map<Integer, GridCell<T>> cells = new HashMap<>();
+
+	/**
+	 * Realized cells that are currently not used and can be reused
+	 */
+	private final GridCellPool<T> pool;
+
+	private boolean cellsDirty;
+
+	private final EventHandler<MouseEvent> cellPressedHandler = new EventHandler<MouseEvent>() {
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void handle(MouseEvent event) {
+			GridCell<T> cell = (GridCell<T>) event.getSource();
+			getBehavior().cellPressed(cell.getIndex(), event.isShiftDown(),
+					event.isShortcutDown());
+		}
+	};
+
 	public GridViewSkin(GridView<T> control) {
 		super(control, new GridViewBehavior<>(control));
 
+		clip = new Rectangle();
+		sheet = new Pane();
+		sheet.setManaged(false);
+		sheet.setClip(clip);
+		vbar = new ScrollBar();
+		vbar.setOrientation(Orientation.VERTICAL);
+		vbar.setManaged(false);
+		vbar.setVisible(false);
+		getChildren().addAll(sheet, vbar);
+		pool = new GridCellPool<>(new Callback<GridView<T>, GridCell<T>>() {
+
+			@Override
+			public GridCell<T> call(GridView<T> gridView) {
+				GridCell<T> cell = createCell();
+				cell.addEventHandler(MouseEvent.MOUSE_PRESSED, cellPressedHandler);
+				return cell;
+			}
+		});
+
 		layoutListener = new ChangeListener<Number>() {
 
 			@Override
@@ -67,32 +151,7 @@ public class GridViewSkin<T> extends com.sun.javafx.scene.control.skin.BehaviorS
 		itemsListener = new ListChangeListener<T>() {
 			@Override
 			public void onChanged(Change<? extends T> change) {
-				while (change.next()) {
-					int start = change.getFrom();
-					int end = change.getTo();
-
-					if (change.wasReplaced() || change.wasAdded()
-							|| change.wasPermutated() || change.wasUpdated()) {
-						for (int i = start; i < end; i++) {
-							if (change.wasReplaced()) {
-								replaceCell(i);
-							} else if (change.wasAdded()) {
-								addCell(i);
-							} else if (change.wasPermutated()) {
-								// TODO: what to do know??
-								updateAllCells();
-							} else if (change.wasRemoved()) {
-								removeCell(i);
-							} else if (change.wasUpdated()) {
-								updateCell(i);
-							}
-						}
-					} else if (change.wasRemoved()) {
-						for (int i = start; i <= end; i++) {
-							removeCell(i);
-						}
-					}
-				}
+				applyChange(change);
 			}
 		};
 
@@ -108,11 +167,27 @@ public class GridViewSkin<T> extends com.sun.javafx.scene.control.skin.BehaviorS
 				if (newList != null) {
 					newList.addListener(itemsListener);
 				}
+				vbar.setValue(0);
+				updateAllCells();
+			}
+		};
+
+		cellFactoryListener = new ChangeListener<Callback<GridView<T>, GridCell<T>>>() {
+
+			@Override
+			public void changed(
+					ObservableValue<? extends Callback<GridView<T>, GridCell<T>>> arg0,
+					Callback<GridView<T>, GridCell<T>> oldFactory,
+					Callback<GridView<T>, GridCell<T>> newFactory) {
+				// cells of the old factory must not be reused
+				releaseCells(0, 0);
+				sheet.getChildren().removeAll(pool.trim(0));
 				updateAllCells();
 			}
 		};
 
 		getSkinnable().itemsProperty().addListener(itemListChangedListener);
+		getSkinnable().cellFactoryProperty().addListener(cellFactoryListener);
 		ObservableList<T> currentList = getSkinnable().itemsProperty().get();
 		if (currentList != null) {
 			currentList.addListener(itemsListener);
@@ -124,51 +199,171 @@ public class GridViewSkin<T> extends com.sun.javafx.scene.control.skin.BehaviorS
 				.addListener(layoutListener);
 		getSkinnable().horizontalCellSpacingProperty().addListener(
 				layoutListener);
+		vbar.valueProperty().addListener(layoutListener);
+
+		getSkinnable().addEventHandler(ScrollEvent.SCROLL,
+				new EventHandler<ScrollEvent>() {
+
+					@Override
+					public void handle(ScrollEvent event) {
+						if (vbar.isVisible() && event.getDeltaY() != 0) {
+							scrollTo(vbar.getValue() - event.getDeltaY());
+							event.consume();
+						}
+					}
+				});
+
+		getSkinnable().getSelectionModel().addSelectionListener(
+				new GridSelectionModel.SelectionListener() {
+
+					@Override
+					public void selectionChanged(int from, int to,
+							boolean selected) {
+						for (Map.Entry<Integer, GridCell<T>> entry : cells
+								.entrySet()) {
+							if (entry.getKey() >= from && entry.getKey() < to) {
+								entry.getValue().updateSelected(selected);
+							}
+						}
+					}
+				});
 
 		updateAllCells();
 	}
 
+	/**
+	 * Marks all realized cells as outdated. The cells are not recreated but
+	 * get their items again on the next layout pass.
+	 */
 	public void updateAllCells() {
-		getChildren().clear();
-		ObservableList<T> items = getSkinnable().getItems();
-		if (items != null) {
+		cellsDirty = true;
+		getSkinnable().requestLayout();
+	}
 
-			for (int index = 0; index < items.size(); index++) {
-				T item = items.get(index);
-				GridCell<T> cell = createCell();
-				cell.setItem(item);
+	/**
+	 * Applies all steps of the given change to the realized cells. The new
+	 * index of every cell is computed in one pass per step; cells keep their
+	 * item if only its index has changed, get the new item if it has been
+	 * replaced, and go back to the pool if it has been removed. Cells for
+	 * items that become visible are realized by the next layout pass, which is
+	 * requested once for the whole change.
+	 */
+	private void applyChange(ListChangeListener.Change<? extends T> change) {
+		List<GridCell<T>> realized = new ArrayList<>(cells.size());
+		int[] indices = new int[cells.size()];
+		byte[] states = new byte[cells.size()];
+		for (Map.Entry<Integer, GridCell<T>> entry : cells.entrySet()) {
+			indices[realized.size()] = entry.getKey();
+			realized.add(entry.getValue());
+		}
+
+		while (change.next()) {
+			int from = change.getFrom();
+			int to = change.getTo();
+			if (change.wasPermutated()) {
+				for (int k = 0; k < indices.length; k++) {
+					if (indices[k] >= from && indices[k] < to) {
+						indices[k] = change.getPermutation(indices[k]);
+					}
+				}
+			} else if (change.wasUpdated()) {
+				for (int k = 0; k < indices.length; k++) {
+					if (indices[k] >= from && indices[k] < to) {
+						states[k] = CELL_UPDATED;
+					}
+				}
+			} else {
+				int removedSize = change.getRemovedSize();
+				int addedSize = change.getAddedSize();
+				for (int k = 0; k < indices.length; k++) {
+					int index = indices[k];
+					if (index >= from + removedSize) {
+						indices[k] = index + addedSize - removedSize;
+					} else if (index >= from) {
+						if (index < from + addedSize) {
+							states[k] = CELL_REPLACED;
+						} else {
+							indices[k] = -1;
+						}
+					}
+				}
+			}
+		}
+
+		ObservableList<? extends T> items = change.getList();
+		cells.clear();
+		for (int k = 0; k < indices.length; k++) {
+			GridCell<T> cell = realized.get(k);
+			int index = indices[k];
+			if (index < 0) {
+				cell.setVisible(false);
+				pool.release(cell);
+				continue;
+			}
+			cells.put(index, cell);
+			if (cell.getIndex() != index) {
 				cell.updateIndex(index);
-				getChildren().add(cell);
+			}
+			// the selection model fires no event when it moves or clears the
+			// selection of changed items, so every cell is brought up to date
+			cell.updateSelected(getSkinnable().getSelectionModel()
+					.isSelected(index));
+			if (states[k] == CELL_UPDATED) {
+				// the item is the same instance, so force the cell to update
+				cell.setItem(null);
+			}
+			if (states[k] != CELL_CURRENT) {
+				cell.setItem(items.get(index));
 			}
 		}
 		getSkinnable().requestLayout();
 	}
 
-	private void removeCell(int index) {
-		getChildren().remove(index);
-		// TODO: Update Index for all following cells
-		getSkinnable().requestLayout();
+	/**
+	 * Scrolls the grid to the given vertical pixel offset.
+	 * 
+	 * @param offset
+	 *            the offset; it is clamped to the scrollable range
+	 */
+	public void scrollTo(double offset) {
+		vbar.setValue(Math.max(vbar.getMin(), Math.min(vbar.getMax(), offset)));
+	}
+
+	/**
+	 * Scrolls the grid just as far as needed to show the row of the given
+	 * item completely.
+	 * 
+	 * @param index
+	 *            the index of an item
+	 */
+	public void scrollToIndex(int index) {
+		double rowHeight = computeCellHeight();
+		double rowTop = computeRowIndexForItem(index) * rowHeight;
+		if (rowTop < vbar.getValue()) {
+			scrollTo(rowTop);
+		} else if (rowTop + rowHeight > vbar.getValue() + sheet.getHeight()) {
+			scrollTo(rowTop + rowHeight - sheet.getHeight());
+		}
 	}
 
-	private void replaceCell(int index) {
-		getChildren().remove(index);
-		addCell(index);
+	/**
+	 * @return the number of cells that are currently realized, including the
+	 *         cells that are waiting in the pool to be reused
+	 */
+	public int getRealizedCellCount() {
+		return cells.size() + pool.size();
 	}
 
-	@SuppressWarnings({ "rawtypes", "unchecked" })
-	private void updateCell(int index) {
-		T item = getSkinnable().getItems().get(index);
-		((GridCell) getChildren().get(index)).setItem(item);
+	/**
+	 * @return the number of cells this skin has created, either by the cell
+	 *         factory of the grid or by {@link #createDefaultCellImpl()}
+	 */
+	public ReadOnlyLongProperty cellFactoryInvocationsProperty() {
+		return pool.cellFactoryInvocationsProperty();
 	}
 
-	private void addCell(int index) {
-		T item = getSkinnable().getItems().get(index);
-		GridCell<T> cell = createCell();
-		cell.setItem(item);
-		cell.updateIndex(index);
-		getChildren().add(index, cell);
-		// TODO: Update Index for all following cells
-		getSkinnable().requestLayout();
+	public long getCellFactoryInvocations() {
+		return pool.cellFactoryInvocationsProperty().get();
 	}
 
 	private GridCell<T> createCell() {
@@ -185,54 +380,124 @@ public class GridViewSkin<T> extends com.sun.javafx.scene.control.skin.BehaviorS
 		return new DefaultGridCell<T>();
 	}
 
-// remove compilation problem
-//	@Override
-//	protected void layoutChildren() {
-//		super.layoutChildren();
-//		double currentWidth = getWidth();
-//		double cellWidth = getSkinnable().getCellWidth();
-//		double cellHeight = getSkinnable().getCellHeight();
-//		double horizontalCellSpacing = getSkinnable()
-//				.getHorizontalCellSpacing();
-//		double verticalCellSpacing = getSkinnable().getVerticalCellSpacing();
-//
-//		double xPos = 0;
-//		double yPos = 0;
-//
-//		HPos currentHorizontalAlignment = getSkinnable()
-//				.getHorizontalAlignment();
-//		if (currentHorizontalAlignment != null) {
-//			if (currentHorizontalAlignment.equals(HPos.CENTER)) {
-//				xPos = (currentWidth % computeCellWidth()) / 2;
-//			} else if (currentHorizontalAlignment.equals(HPos.RIGHT)) {
-//				xPos = currentWidth % computeCellWidth();
-//			}
-//		}
-//
-//		for (Node child : getChildren()) {
-//			if (xPos + horizontalCellSpacing + cellWidth
-//					+ horizontalCellSpacing > currentWidth) {
-//				// new line
-//				xPos = 0;
-//				if (currentHorizontalAlignment != null) {
-//					if (currentHorizontalAlignment.equals(HPos.CENTER)) {
-//						xPos = (currentWidth % computeCellWidth()) / 2;
-//					} else if (currentHorizontalAlignment.equals(HPos.RIGHT)) {
-//						xPos = currentWidth % computeCellWidth();
-//					}
-//				}
-//
-//				yPos = yPos + verticalCellSpacing + cellHeight
-//						+ verticalCellSpacing;
-//			}
-//			child.relocate(xPos + horizontalCellSpacing, yPos
-//					+ verticalCellSpacing);
-//			child.resize(cellWidth, cellHeight);
-//			xPos = xPos + horizontalCellSpacing + cellWidth
-//					+ horizontalCellSpacing;
-//			;
-//		}
-//	}
+	/**
+	 * Returns a cell for the given index. Uses the cell that already shows the
+	 * index or a cell from the pool.
+	 */
+	private GridCell<T> obtainCell(int index) {
+		GridCell<T> cell = cells.get(index);
+		if (cell == null) {
+			cell = pool.obtain(getSkinnable());
+			if (cell.getParent() != sheet) {
+				sheet.getChildren().add(cell);
+			}
+			cell.setVisible(true);
+			cells.put(index, cell);
+			updateCellItem(cell, index);
+		} else if (cellsDirty) {
+			updateCellItem(cell, index);
+		}
+		return cell;
+	}
+
+	private void updateCellItem(GridCell<T> cell, int index) {
+		cell.updateIndex(index);
+		cell.setItem(getSkinnable().getItems().get(index));
+		cell.updateSelected(getSkinnable().getSelectionModel().isSelected(index));
+	}
+
+	/**
+	 * Moves all cells that show an index outside of [from, to) to the pool.
+	 */
+	private void releaseCells(int from, int to) {
+		for (Iterator<Map.Entry<Integer, GridCell<T>>> it = cells.entrySet()
+				.iterator(); it.hasNext();) {
+			Map.Entry<Integer, GridCell<T>> entry = it.next();
+			int index = entry.getKey();
+			if (index < from || index >= to) {
+				GridCell<T> cell = entry.getValue();
+				cell.setVisible(false);
+				pool.release(cell);
+				it.remove();
+			}
+		}
+	}
+
+	@Override
+	protected void layoutChildren(double x, double y, double width,
+			double height) {
+		ObservableList<T> items = getSkinnable().getItems();
+		int itemCount = items == null ? 0 : items.size();
+		double cellWidth = getSkinnable().getCellWidth();
+		double cellHeight = getSkinnable().getCellHeight();
+		double horizontalCellSpacing = getSkinnable()
+				.getHorizontalCellSpacing();
+		double verticalCellSpacing = getSkinnable().getVerticalCellSpacing();
+		double rowHeight = computeCellHeight();
+
+		// the scroll bar is only shown if the rows don't fit into the viewport
+		int maxCellsInRow = computeMaxCellsInRow(width);
+		double contentHeight = computeRowCount(itemCount, maxCellsInRow)
+				* rowHeight;
+		double contentWidth = width;
+		if (contentHeight > height) {
+			double barWidth = vbar.prefWidth(-1);
+			contentWidth = Math.max(0, width - barWidth);
+			maxCellsInRow = computeMaxCellsInRow(contentWidth);
+			contentHeight = computeRowCount(itemCount, maxCellsInRow)
+					* rowHeight;
+			vbar.setVisible(true);
+			vbar.resizeRelocate(x + contentWidth, y, barWidth, height);
+			vbar.setMax(contentHeight - height);
+			vbar.setVisibleAmount(height / contentHeight * vbar.getMax());
+			vbar.setUnitIncrement(rowHeight / 2);
+			vbar.setBlockIncrement(height);
+			if (vbar.getValue() > vbar.getMax()) {
+				vbar.setValue(vbar.getMax());
+			}
+		} else {
+			vbar.setVisible(false);
+			vbar.setMax(0);
+			vbar.setValue(0);
+		}
+		double offset = vbar.getValue();
+
+		sheet.resizeRelocate(x, y, contentWidth, height);
+		clip.setWidth(contentWidth);
+		clip.setHeight(height);
+
+		double xStart = 0;
+		HPos currentHorizontalAlignment = getSkinnable()
+				.getHorizontalAlignment();
+		if (HPos.CENTER.equals(currentHorizontalAlignment)) {
+			xStart = (contentWidth % computeCellWidth()) / 2;
+		} else if (HPos.RIGHT.equals(currentHorizontalAlignment)) {
+			xStart = contentWidth % computeCellWidth();
+		}
+
+		// only the visible rows and the buffer rows are realized
+		int firstRow = Math.max(0, (int) Math.floor(offset / rowHeight)
+				- BUFFER_ROWS);
+		int lastRow = (int) Math.ceil((offset + height) / rowHeight) - 1
+				+ BUFFER_ROWS;
+		int firstIndex = Math.min(itemCount, firstRow * maxCellsInRow);
+		int lastIndex = (int) Math.min(itemCount, ((long) lastRow + 1)
+				* maxCellsInRow);
+
+		releaseCells(firstIndex, lastIndex);
+		for (int index = firstIndex; index < lastIndex; index++) {
+			GridCell<T> cell = obtainCell(index);
+			int row = index / maxCellsInRow;
+			int column = index % maxCellsInRow;
+			cell.resizeRelocate(xStart + column * computeCellWidth()
+					+ horizontalCellSpacing, row * rowHeight
+					+ verticalCellSpacing - offset, cellWidth, cellHeight);
+		}
+		cellsDirty = false;
+
+		// don't keep more spare cells than cells are in use
+		sheet.getChildren().removeAll(pool.trim(cells.size()));
+	}
 
 // remove compilation problem
 //	@Override
@@ -275,19 +540,27 @@ public class GridViewSkin<T> extends com.sun.javafx.scene.control.skin.BehaviorS
 	@Override
 	protected double computePrefHeight(double width, double topInset, double rightInset, double bottomInset, double leftInset) {
 		int maxCellsInRow = computeMaxCellsInRow(width);
-		int rowCount = (int) Math.floor((double) getSkinnable().getItems()
-				.size() / (double) maxCellsInRow);
-		return rowCount * computeCellHeight();
+		return computeRowCount(getItemCount(), maxCellsInRow)
+				* computeCellHeight();
 	}
 
 	@Override
 	protected double computePrefWidth(double height, double topInset, double rightInset, double bottomInset, double leftInset) {
 		int maxCellsInColumn = computeMaxCellsInColumn(height);
-		int columnCount = (int) Math.floor((double) getSkinnable().getItems()
-				.size() / (double) maxCellsInColumn);
+		int columnCount = (int) Math.ceil((double) getItemCount()
+				/ (double) maxCellsInColumn);
 		return columnCount * computeCellWidth();
 	}
 
+	private int getItemCount() {
+		ObservableList<T> items = getSkinnable().getItems();
+		return items == null ? 0 : items.size();
+	}
+
+	private static int computeRowCount(int itemCount, int maxCellsInRow) {
+		return (int) Math.ceil((double) itemCount / (double) maxCellsInRow);
+	}
+
 	public int computeRowIndexForItem(int itemIndex) {
 		int maxCellsInRow = computeMaxCellsInRow();
 		return itemIndex / maxCellsInRow;
@@ -299,12 +572,15 @@ public class GridViewSkin<T> extends com.sun.javafx.scene.control.skin.BehaviorS
 	}
 
 	public int computeMaxCellsInRow() {
-		return computeMaxCellsInRow(getSkinnable().getWidth());
+		double width = getSkinnable().getWidth();
+		if (vbar.isVisible()) {
+			width -= vbar.getWidth();
+		}
+		return computeMaxCellsInRow(width);
 	}
 
 	public int computeCurrentRowCount() {
-		return (int) Math.ceil((double) getSkinnable().getItems().size()
-				/ (double) computeMaxCellsInRow());
+		return computeRowCount(getItemCount(), computeMaxCellsInRow());
 	}
 
 	public int computeMaxCellsInRow(double width) {
@@ -49,6 +49,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javafx.beans.Observable;
 import javafx.beans.binding.Bindings;
@@ -72,6 +73,9 @@ import javafx.collections.ObservableList;
 import javafx.collections.ObservableMap;
 import javafx.collections.ObservableSet;
 import javafx.collections.SetChangeListener;
+import javafx.collections.WeakListChangeListener;
+import javafx.collections.WeakMapChangeListener;
+import javafx.collections.WeakSetChangeListener;
 import javafx.scene.control.SelectionModel;
 import javafx.util.StringConverter;
 
@@ -86,7 +90,10 @@ import javafx.util.StringConverter;
  * bindings as different beans are set on the adapter. Bean's set on the adapter
  * do not need to instantiate all the sub-beans in the path(s) provided as long
  * as they contain a no-argument constructor they will be instantiated as
- * path(s) are traversed.
+ * path(s) are traversed. When the {@link BeanPathAdapter} is created in
+ * <i>lazy</i> mode (see {@link #BeanPathAdapter(Object, boolean)}) missing
+ * sub-beans will remain <code>null</code> on their parent bean until a value
+ * is actually written to a field within their path.
  * 
  * <h3>Examples:</h3>
  * <ol>
@@ -364,6 +371,7 @@ public class BeanPathAdapter<B> {
 	public static final char COLLECTION_ITEM_PATH_SEPARATOR = '#';
 	private FieldBean<Void, B> root;
 	private FieldPathValueProperty fieldPathValueProperty = new FieldPathValueProperty();
+	private final boolean lazy;
 
 	/**
 	 * Constructor
@@ -372,6 +380,45 @@ public class BeanPathAdapter<B> {
 	 *            the bean the {@link BeanPathAdapter} is for
 	 */
 	public BeanPathAdapter(final B bean) {
+		this(bean, false);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param bean
+	 *            the bean the {@link BeanPathAdapter} is for
+	 * @param lazy
+	 *            true to leave <code>null</code> sub-beans unset on their
+	 *            parent bean until a value is written to a field path that
+	 *            contains them (reads of such paths will return the default
+	 *            value of the field), false to instantiate and set them as
+	 *            soon as a field path that contains them is bound
+	 */
+	public BeanPathAdapter(final B bean, final boolean lazy) {
+		this(bean, lazy, false);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param bean
+	 *            the bean the {@link BeanPathAdapter} is for
+	 * @param lazy
+	 *            see {@link #BeanPathAdapter(Object, boolean)}
+	 * @param weakListeners
+	 *            true to only use weak listeners on the observable
+	 *            collections/maps that are bound to the
+	 *            {@link BeanPathAdapter} so that an abandoned
+	 *            {@link BeanPathAdapter} (and it's bean graph) can be garbage
+	 *            collected without calling {@link #dispose()} while the bound
+	 *            controls are still in use (the bindings will stop working
+	 *            once the {@link BeanPathAdapter} has been collected)
+	 */
+	public BeanPathAdapter(final B bean, final boolean lazy,
+			final boolean weakListeners) {
+		this.lazy = lazy;
+		this.fieldPathValueProperty.weakListeners = weakListeners;
 		setBean(bean);
 	}
 
@@ -573,9 +620,126 @@ public class BeanPathAdapter<B> {
 	 * @param propertyType
 	 *            the class type of the {@link Property} value
 	 */
-	@SuppressWarnings("unchecked")
 	public <T> void bindBidirectional(final String fieldPath,
 			final Property<T> property, final Class<T> propertyType) {
+		getRoot().performOperation(fieldPath, property,
+				resolvePropertyValueClass(property, propertyType),
+				FieldBeanOperation.BIND);
+	}
+
+	/**
+	 * Binds multiple {@link Property}s in a single pass. The field paths are
+	 * sorted so that paths sharing the same <b><code>.</code></b> separated
+	 * prefix are bound one after another and the bean's field tree is only
+	 * traversed from the deepest shared {@link FieldBean} rather than from the
+	 * root for each path. The value class of each {@link Property} is
+	 * determined the same way as {@link #bindBidirectional(String, Property)}
+	 * (use {@link #bindBidirectional(String, Property, Class)} for
+	 * {@link Property}s that require an explicit value class).
+	 * 
+	 * @param fieldPathProperties
+	 *            the {@link Map} of <b><code>.</code></b> separated field
+	 *            paths relative to the {@link #getBean()} (keys) and the
+	 *            {@link Property}s to bind to them (values)
+	 */
+	public void bindAll(
+			final Map<String, ? extends Property<?>> fieldPathProperties) {
+		final List<String> fieldPaths = new ArrayList<>(
+				fieldPathProperties.keySet());
+		Collections.sort(fieldPaths);
+		FieldBean<?, ?> prevFieldBean = null;
+		String prevBeanPath = null;
+		for (final String fieldPath : fieldPaths) {
+			final int sepIndex = fieldPath.lastIndexOf(PATH_SEPARATOR);
+			final String beanPath = sepIndex < 0 ? "" : fieldPath.substring(0,
+					sepIndex);
+			FieldBean<?, ?> fb = getRoot();
+			int offset = 0;
+			final int common = prevFieldBean != null ? commonPathLength(
+					prevBeanPath, beanPath) : 0;
+			if (common > 0) {
+				// walk up from the last bean to the deepest common ancestor
+				fb = prevFieldBean;
+				for (int i = common; i < prevBeanPath.length(); i++) {
+					if (prevBeanPath.charAt(i) == PATH_SEPARATOR) {
+						fb = fb.getParent();
+					}
+				}
+				offset = common + 1;
+			}
+			final FieldProperty<?, ?, ?> fp = bindBidirectional(fb, fieldPath,
+					fieldPath.substring(offset),
+					fieldPathProperties.get(fieldPath));
+			prevFieldBean = fp != null ? fp.fieldBean : null;
+			prevBeanPath = beanPath;
+		}
+	}
+
+	/**
+	 * Binds a {@link Property} relative to a {@link FieldBean}
+	 * 
+	 * @param fieldBean
+	 *            the {@link FieldBean} to start the traversal from
+	 * @param fullFieldPath
+	 *            the full <code>.</code> separated field names relative to
+	 *            the {@link #getBean()}
+	 * @param fieldPath
+	 *            the <code>.</code> separated field names relative to the
+	 *            {@link FieldBean}
+	 * @param property
+	 *            the {@link Property} to bind
+	 * @return the bound {@link FieldProperty}
+	 */
+	private <T> FieldProperty<?, ?, ?> bindBidirectional(
+			final FieldBean<?, ?> fieldBean, final String fullFieldPath,
+			final String fieldPath, final Property<T> property) {
+		return fieldBean.performOperation(fullFieldPath, fieldPath,
+				resolvePropertyValueClass(property, null), null,
+				(Observable) property, null, null, null,
+				FieldBeanOperation.BIND);
+	}
+
+	/**
+	 * Determines the length of the common <b><code>.</code></b> separated
+	 * bean path prefix of two bean paths
+	 * 
+	 * @param path1
+	 *            the first bean path
+	 * @param path2
+	 *            the second bean path
+	 * @return the length of the common prefix that ends on a field name
+	 *         boundary (0 when there is no common bean)
+	 */
+	private static int commonPathLength(final String path1, final String path2) {
+		final int max = Math.min(path1.length(), path2.length());
+		int common = 0;
+		int i = 0;
+		for (; i < max && path1.charAt(i) == path2.charAt(i); i++) {
+			if (path1.charAt(i) == PATH_SEPARATOR) {
+				common = i;
+			}
+		}
+		if (i == max
+				&& (path1.length() == max || path1.charAt(max) == PATH_SEPARATOR)
+				&& (path2.length() == max || path2.charAt(max) == PATH_SEPARATOR)) {
+			common = max;
+		}
+		return common;
+	}
+
+	/**
+	 * Resolves the value class of a {@link Property} that is being bound
+	 * 
+	 * @param property
+	 *            the {@link Property}
+	 * @param propertyType
+	 *            the declared class type of the {@link Property} value (null
+	 *            when it should be derived from the {@link Property})
+	 * @return the {@link Property} value class
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> Class<T> resolvePropertyValueClass(
+			final Property<T> property, final Class<T> propertyType) {
 		Class<T> clazz = propertyType != null ? propertyType
 				: propertyValueClass(property);
 		if (clazz == null && property.getValue() != null) {
@@ -586,8 +750,7 @@ public class BeanPathAdapter<B> {
 					"Unable to determine property value class for %1$s "
 							+ "and declared type %2$s", property, propertyType));
 		}
-		getRoot().performOperation(fieldPath, property, clazz,
-				FieldBeanOperation.BIND);
+		return clazz;
 	}
 
 	/**
@@ -628,6 +791,7 @@ public class BeanPathAdapter<B> {
 		if (getRoot() == null) {
 			this.root = new FieldBean<>(null, bean, null,
 					fieldPathValueProperty);
+			this.root.lazy = lazy;
 		} else {
 			getRoot().setBean(bean);
 		}
@@ -637,6 +801,53 @@ public class BeanPathAdapter<B> {
 		}
 	}
 
+	/**
+	 * Re-reads the accessors of the bound field paths on the current
+	 * {@link #getBean()} and notifies only the bound {@link Property}s whose
+	 * values have changed since they were last read. Useful when the bean is
+	 * mutated directly (i.e. not through a bound {@link Property}) and a full
+	 * {@link #setBean(Object)} would be too costly. It can be invoked on demand
+	 * or from a bean's <code>PropertyChangeListener</code> or a periodic
+	 * {@link javafx.animation.Timeline} (on the JavaFX application thread).
+	 * Sub-beans that have been replaced on their parent will have their entire
+	 * path re-targeted. {@link Collection}/{@link Map} fields are considered
+	 * changed when either the instance or it's size has changed.
+	 *
+	 * @return true when at least one bound value has changed
+	 */
+	public boolean refresh() {
+		return getRoot().refresh();
+	}
+
+	/**
+	 * @see #BeanPathAdapter(Object, boolean)
+	 * @return true when sub-beans are only set on their parent beans when a
+	 *         value is written to a field path that contains them
+	 */
+	public boolean isLazy() {
+		return lazy;
+	}
+
+	/**
+	 * @see #BeanPathAdapter(Object, boolean, boolean)
+	 * @return true when only weak listeners are added to the bound observable
+	 *         collections/maps
+	 */
+	public boolean isWeakListeners() {
+		return fieldPathValueProperty.weakListeners;
+	}
+
+	/**
+	 * Removes every binding and listener that the {@link BeanPathAdapter} has
+	 * added to the bound {@link Property}s and observable collections/maps so
+	 * that the controls no longer reference the {@link BeanPathAdapter} or
+	 * it's bean graph. The bean itself is left untouched. The
+	 * {@link BeanPathAdapter} should not be used after it has been disposed.
+	 */
+	public void dispose() {
+		getRoot().dispose();
+	}
+
 	/**
 	 * @return the root/top level {@link FieldBean}
 	 */
@@ -737,6 +948,7 @@ public class BeanPathAdapter<B> {
 			ReadOnlyObjectWrapper<FieldPathValue> {
 
 		private final Set<FieldPathValueType> types;
+		private boolean weakListeners;
 
 		/**
 		 * Constructor
@@ -984,6 +1196,8 @@ public class BeanPathAdapter<B> {
 		private FieldHandle<PT, BT> fieldHandle;
 		private final FieldBean<?, PT> parent;
 		private BT bean;
+		private boolean lazy;
+		private boolean attached = true;
 
 		/**
 		 * Creates a {@link FieldBean}
@@ -1001,7 +1215,7 @@ public class BeanPathAdapter<B> {
 				final FieldPathValueProperty notifyProperty) {
 			this.parent = parent;
 			this.fieldHandle = fieldHandle;
-			this.bean = this.fieldHandle.setDerivedValueFromAccessor();
+			this.bean = deriveBean();
 			this.notifyProperty = notifyProperty;
 			if (getParent() != null) {
 				getParent().addFieldBean(this);
@@ -1100,8 +1314,10 @@ public class BeanPathAdapter<B> {
 				getFieldSelectionProperties().get(pkey).setTarget(
 						fieldProperty.getBean());
 			} else if (fieldProperty.hasItemMaster()) {
+				fieldProperty.fieldBean = this;
 				getFieldSelectionProperties().put(pkey, fieldProperty);
 			} else {
+				fieldProperty.fieldBean = this;
 				getFieldProperties().put(pkey, fieldProperty);
 			}
 		}
@@ -1155,7 +1371,137 @@ public class BeanPathAdapter<B> {
 						+ FieldBean.class.getSimpleName());
 			}
 			fieldHandle.setTarget(bean);
-			setBean(fieldHandle.setDerivedValueFromAccessor());
+			setBean(deriveBean());
+		}
+
+		/**
+		 * Derives the bean from the parent bean's accessor. When the parent
+		 * bean does not contain a value for the {@link #getFieldName()} a new
+		 * instance will be created. The new instance is set on the parent bean
+		 * immediately unless the {@link FieldBean} is {@link #isLazy()}, in
+		 * which case it remains detached until {@link #attach()} is called.
+		 * 
+		 * @return the derived bean
+		 */
+		protected BT deriveBean() {
+			if (!isLazy()) {
+				attached = true;
+				return fieldHandle.setDerivedValueFromAccessor();
+			}
+			final BT derived = fieldHandle.deriveValueFromAccessor(false);
+			attached = !fieldHandle.hasDefaultDerived();
+			return derived;
+		}
+
+		/**
+		 * Sets the {@link #getBean()} on it's parent bean (and the parent's
+		 * bean on it's parent, etc.) when it has not been set already
+		 * 
+		 * @see #isLazy()
+		 */
+		protected void attach() {
+			if (getParent() != null) {
+				getParent().attach();
+			}
+			if (attached) {
+				return;
+			}
+			try {
+				fieldHandle.getSetter().invoke(getBean());
+				attached = true;
+			} catch (final Throwable t) {
+				throw new RuntimeException(String.format(
+						"Unable to set %1$s on %2$s", getBean(),
+						fieldHandle.getTarget()), t);
+			}
+		}
+
+		/**
+		 * @see BeanPathAdapter#isLazy()
+		 * @return true when the {@link #getBean()} is only set on the parent
+		 *         bean once a value is written to one of it's fields
+		 */
+		public boolean isLazy() {
+			return getParent() != null ? getParent().isLazy() : lazy;
+		}
+
+		/**
+		 * Disposes the underlying {@link #getFieldBeans()},
+		 * {@link #getFieldSelectionProperties()}, and
+		 * {@link #getFieldProperties()} and removes them from the
+		 * {@link FieldBean}
+		 * 
+		 * @see BeanPathAdapter#dispose()
+		 */
+		public void dispose() {
+			for (final Map.Entry<String, FieldBean<BT, ?>> fn : getFieldBeans()
+					.entrySet()) {
+				fn.getValue().dispose();
+			}
+			for (final Map.Entry<String, FieldProperty<BT, ?, ?>> fp : getFieldSelectionProperties()
+					.entrySet()) {
+				fp.getValue().dispose();
+			}
+			for (final Map.Entry<String, FieldProperty<BT, ?, ?>> fp : getFieldProperties()
+					.entrySet()) {
+				fp.getValue().dispose();
+			}
+			getFieldBeans().clear();
+			getFieldSelectionProperties().clear();
+			getFieldProperties().clear();
+		}
+
+		/**
+		 * Refreshes the underlying {@link #getFieldBeans()},
+		 * {@link #getFieldSelectionProperties()}, and
+		 * {@link #getFieldProperties()} using the values that are currently
+		 * held by the {@link #getBean()}. Child {@link FieldBean}s whose bean
+		 * has been replaced on the {@link #getBean()} will be re-targeted via
+		 * {@link #setParentBean(Object)}.
+		 *
+		 * @see BeanPathAdapter#refresh()
+		 * @return true when at least one value has changed
+		 */
+		public boolean refresh() {
+			boolean changed = false;
+			for (final Map.Entry<String, FieldBean<BT, ?>> fn : getFieldBeans()
+					.entrySet()) {
+				if (fn.getValue().isBeanReplaced()) {
+					fn.getValue().setParentBean(getBean());
+					changed = true;
+				} else {
+					changed = fn.getValue().refresh() || changed;
+				}
+			}
+			// same order as setBean(...)
+			for (final Map.Entry<String, FieldProperty<BT, ?, ?>> fp : getFieldSelectionProperties()
+					.entrySet()) {
+				changed = fp.getValue().refresh() || changed;
+			}
+			for (final Map.Entry<String, FieldProperty<BT, ?, ?>> fp : getFieldProperties()
+					.entrySet()) {
+				changed = fp.getValue().refresh() || changed;
+			}
+			return changed;
+		}
+
+		/**
+		 * @return true when the {@link #getBean()} is no longer the value that
+		 *         the parent bean holds for the {@link #getFieldName()} (always
+		 *         false for the root {@link FieldBean})
+		 */
+		protected boolean isBeanReplaced() {
+			if (fieldHandle == null) {
+				return false;
+			}
+			try {
+				final Object cv = fieldHandle.getAccessor().invoke();
+				return attached ? cv != getBean() : cv != null;
+			} catch (final Throwable t) {
+				throw new RuntimeException(String.format(
+						"Unable to get %1$s from %2$s", getFieldName(),
+						fieldHandle.getTarget()), t);
+			}
 		}
 
 		/**
@@ -1287,9 +1633,11 @@ public class BeanPathAdapter<B> {
 				final SelectionModel<T> selectionModel,
 				final FieldProperty<?, ?, ?> itemMaster,
 				final FieldBeanOperation operation) {
-			final String[] fieldNames = fieldPath.split("\\" + PATH_SEPARATOR);
-			final boolean isField = fieldNames.length == 1;
-			final String pkey = isField ? fieldNames[0] : "";
+			final int sepIndex = fieldPath.indexOf(PATH_SEPARATOR);
+			final boolean isField = sepIndex < 0;
+			final String fieldName = isField ? fieldPath : fieldPath
+					.substring(0, sepIndex);
+			final String pkey = isField ? fieldName : "";
 			final boolean isFieldProp = isField
 					&& getFieldProperties().containsKey(pkey);
 			final boolean isFieldSelProp = isField && !isFieldProp
@@ -1299,11 +1647,10 @@ public class BeanPathAdapter<B> {
 						.get(pkey) : getFieldProperties().get(pkey);
 				performOperation(fp, observable, propertyValueClass, operation);
 				return fp;
-			} else if (!isField && getFieldBeans().containsKey(fieldNames[0])) {
+			} else if (!isField && getFieldBeans().containsKey(fieldName)) {
 				// progress to the next child field/bean in the path chain
-				final String nextFieldPath = fieldPath.replaceFirst(
-						fieldNames[0] + PATH_SEPARATOR, "");
-				return getFieldBeans().get(fieldNames[0]).performOperation(
+				final String nextFieldPath = fieldPath.substring(sepIndex + 1);
+				return getFieldBeans().get(fieldName).performOperation(
 						fullFieldPath, nextFieldPath, propertyValueClass,
 						collectionItemPath, observable, collectionItemType,
 						selectionModel, itemMaster, operation);
@@ -1311,16 +1658,16 @@ public class BeanPathAdapter<B> {
 				// add a new bean/property chain
 				if (isField) {
 					final Class<?> fieldClass = FieldHandle.getAccessorType(
-							getBean(), fieldNames[0]);
+							getBean(), fieldName);
 					final FieldProperty<BT, ?, ?> childProp = new FieldProperty/*won't compile in JDK8: <>*/(
-							getBean(), fullFieldPath, fieldNames[0],
+							getBean(), fullFieldPath, fieldName,
 							notifyProperty,
 							propertyValueClass == fieldClass ? fieldClass
 									: Object.class, collectionItemPath,
 							observable, collectionItemType, selectionModel,
 							itemMaster);
 					addOrUpdateFieldProperty(childProp);
-					return performOperation(fullFieldPath, fieldNames[0],
+					return performOperation(fullFieldPath, fieldName,
 							propertyValueClass, collectionItemPath, observable,
 							collectionItemType, selectionModel, itemMaster,
 							operation);
@@ -1330,12 +1677,12 @@ public class BeanPathAdapter<B> {
 					// if the child bean exists on the bean it will remain
 					// unchanged
 					final FieldHandle<BT, Object> pfh = new FieldHandle<>(
-							getBean(), fieldNames[0], Object.class);
+							getBean(), fieldName, Object.class);
 					final FieldBean<BT, ?> childBean = new FieldBean<>(this,
 							pfh, notifyProperty);
 					// progress to the next child field/bean in the path chain
-					final String nextFieldPath = fieldPath.substring(fieldPath
-							.indexOf(PATH_SEPARATOR + fieldNames[1]) + 1);
+					final String nextFieldPath = fieldPath
+							.substring(sepIndex + 1);
 					return childBean.performOperation(fullFieldPath,
 							nextFieldPath, propertyValueClass,
 							collectionItemPath, observable, collectionItemType,
@@ -1360,7 +1707,6 @@ public class BeanPathAdapter<B> {
 		 * @param operation
 		 *            the {@link FieldBeanOperation}
 		 */
-		@SuppressWarnings("unchecked")
 		protected <T> void performOperation(final FieldProperty<BT, ?, ?> fp,
 				final Observable observable,
 				final Class<T> observableValueClass,
@@ -1368,6 +1714,31 @@ public class BeanPathAdapter<B> {
 			if (operation == FieldBeanOperation.CREATE_OR_FIND) {
 				return;
 			}
+			// binding/unbinding is not considered a write that should attach
+			// any lazy beans to their parents
+			final boolean wasAttachSuppressed = fp.isAttachSuppressed;
+			fp.isAttachSuppressed = true;
+			try {
+				performBindOperation(fp, observable, observableValueClass,
+						operation);
+			} finally {
+				fp.isAttachSuppressed = wasAttachSuppressed;
+			}
+		}
+
+		/**
+		 * Performs a {@link FieldBeanOperation#BIND} or
+		 * {@link FieldBeanOperation#UNBIND} on a {@link FieldProperty} and an
+		 * {@link Observable}
+		 * 
+		 * @see #performOperation(FieldProperty, Observable, Class,
+		 *      FieldBeanOperation)
+		 */
+		@SuppressWarnings("unchecked")
+		private <T> void performBindOperation(
+				final FieldProperty<BT, ?, ?> fp, final Observable observable,
+				final Class<T> observableValueClass,
+				final FieldBeanOperation operation) {
 			// because of the inverse relationship of the bidirectional
 			// bind the initial value needs to be captured and reset as
 			// a dirty value or the bind operation will overwrite the
@@ -1377,7 +1748,9 @@ public class BeanPathAdapter<B> {
 				if (operation == FieldBeanOperation.UNBIND) {
 					Bindings.unbindBidirectional((Property<T>) fp,
 							(Property<T>) observable);
+					fp.addRemoveBoundObservable(observable, false);
 				} else if (operation == FieldBeanOperation.BIND) {
+					fp.addRemoveBoundObservable(observable, true);
 					if (fp.getFieldType() == fp.getDeclaredFieldType()) {
 						Bindings.bindBidirectional((Property<T>) fp,
 								(Property<T>) observable);
@@ -1396,7 +1769,9 @@ public class BeanPathAdapter<B> {
 				if (operation == FieldBeanOperation.UNBIND) {
 					Bindings.unbindContentBidirectional(
 							fp.getCollectionObservable(), observable);
+					fp.addRemoveBoundObservable(observable, false);
 				} else if (operation == FieldBeanOperation.BIND) {
+					fp.addRemoveBoundObservable(observable, true);
 					if (FieldProperty.isObservableList(observable)
 							&& fp.isObservableList()) {
 						Bindings.bindContentBidirectional(
@@ -1684,6 +2059,15 @@ public class BeanPathAdapter<B> {
 		private final Class<?> collectionType;
 		private final SelectionModel<Object> collectionSelectionModel;
 		private final FieldProperty<?, ?, ?> itemMaster;
+		private Object lastValue;
+		private int lastSize = -1;
+		private FieldBean<?, BT> fieldBean;
+		private boolean isAttachSuppressed;
+		private final List<WeakReference<Observable>> boundObservables = new ArrayList<>(
+				1);
+		private WeakListChangeListener<Object> weakListChangeListener;
+		private WeakSetChangeListener<Object> weakSetChangeListener;
+		private WeakMapChangeListener<Object, Object> weakMapChangeListener;
 
 		/**
 		 * Constructor
@@ -1777,7 +2161,85 @@ public class BeanPathAdapter<B> {
 		 */
 		protected void setDerived() {
 			final T derived = fieldHandle.deriveValueFromAccessor(true);
-			set(derived);
+			final boolean wasAttachSuppressed = isAttachSuppressed;
+			try {
+				isAttachSuppressed = true;
+				set(derived);
+			} finally {
+				isAttachSuppressed = wasAttachSuppressed;
+			}
+			captureLastValue();
+		}
+
+		/**
+		 * Ensures that the bean of the {@link FieldProperty} is set on it's
+		 * parent bean(s) after a value has been written to it
+		 * 
+		 * @see BeanPathAdapter#isLazy()
+		 */
+		protected void attachBean() {
+			if (!isAttachSuppressed && fieldBean != null) {
+				fieldBean.attach();
+			}
+		}
+
+		/**
+		 * Notifies any listeners of the {@link FieldProperty} when the value
+		 * held by the bean differs from the value captured the last time the
+		 * {@link FieldProperty} was set or refreshed
+		 * 
+		 * @see BeanPathAdapter#refresh()
+		 * @return true when the value has changed
+		 */
+		protected boolean refresh() {
+			final Object prevValue = lastValue;
+			if (!hasChangedSinceLastValue()) {
+				return false;
+			}
+			try {
+				postSet(prevValue);
+			} catch (final Throwable t) {
+				throw new IllegalArgumentException(String.format(
+						"Unable to refresh %1$s", fullPath), t);
+			}
+			return true;
+		}
+
+		/**
+		 * Captures the current {@link #getDirty()} value (and size when the
+		 * value is a {@link Collection}/{@link Map}) so that subsequent
+		 * {@link #refresh()} calls can detect changes made directly on the bean
+		 */
+		private void captureLastValue() {
+			lastValue = getDirty();
+			lastSize = sizeOf(lastValue);
+		}
+
+		/**
+		 * @return true when the current {@link #getDirty()} value differs from
+		 *         the one captured by {@link #captureLastValue()}
+		 */
+		private boolean hasChangedSinceLastValue() {
+			final Object cv = getDirty();
+			if (cv == lastValue) {
+				return sizeOf(cv) != lastSize;
+			}
+			return cv == null || lastSize >= 0 || !cv.equals(lastValue);
+		}
+
+		/**
+		 * @param value
+		 *            the value to get the size of
+		 * @return the size of the {@link Collection}/{@link Map} value or -1
+		 *         when the value is not a {@link Collection}/{@link Map}
+		 */
+		private static int sizeOf(final Object value) {
+			if (value instanceof Collection) {
+				return ((Collection<?>) value).size();
+			} else if (value instanceof Map) {
+				return ((Map<?, ?>) value).size();
+			}
+			return -1;
 		}
 
 		/**
@@ -1808,10 +2270,12 @@ public class BeanPathAdapter<B> {
 						&& (Collection.class.isAssignableFrom(v.getClass()) || Map.class
 								.isAssignableFrom(v.getClass()))) {
 					fieldHandle.getSetter().invoke(v);
+					attachBean();
 					postSet(cv);
 				} else if (isDirty || cv != v) {
 					final Object val = FieldStringConverter.coerce(v, clazz);
 					fieldHandle.getSetter().invoke(val);
+					attachBean();
 					postSet(cv);
 				}
 			} catch (final Throwable t) {
@@ -1857,6 +2321,7 @@ public class BeanPathAdapter<B> {
 				}
 			} finally {
 				isDirty = false;
+				captureLastValue();
 			}
 		}
 
@@ -2590,35 +3055,45 @@ public class BeanPathAdapter<B> {
 				final boolean add) {
 			final boolean isCol = getCollectionObservable() == observable;
 			if (isCol
-					&& ((this.isCollectionListening && add) || (this.isCollectionListening && !add))) {
+					&& ((this.isCollectionListening && add) || (!this.isCollectionListening && !add))) {
 				return;
 			}
+			final boolean weak = notifyProperty.weakListeners;
 			Boolean change = null;
 			if (observable instanceof ObservableList) {
 				final ObservableList<?> ol = (ObservableList<?>) observable;
+				if (weak && weakListChangeListener == null) {
+					weakListChangeListener = new WeakListChangeListener<>(this);
+				}
 				if (add) {
-					ol.addListener(this);
+					ol.addListener(weak ? weakListChangeListener : this);
 					change = true;
 				} else {
-					ol.removeListener(this);
+					ol.removeListener(weak ? weakListChangeListener : this);
 					change = false;
 				}
 			} else if (observable instanceof ObservableSet) {
 				final ObservableSet<?> os = (ObservableSet<?>) observable;
+				if (weak && weakSetChangeListener == null) {
+					weakSetChangeListener = new WeakSetChangeListener<>(this);
+				}
 				if (add) {
-					os.addListener(this);
+					os.addListener(weak ? weakSetChangeListener : this);
 					change = true;
 				} else {
-					os.removeListener(this);
+					os.removeListener(weak ? weakSetChangeListener : this);
 					change = false;
 				}
 			} else if (observable instanceof ObservableMap) {
 				final ObservableMap<?, ?> om = (ObservableMap<?, ?>) observable;
+				if (weak && weakMapChangeListener == null) {
+					weakMapChangeListener = new WeakMapChangeListener<>(this);
+				}
 				if (add) {
-					om.addListener(this);
+					om.addListener(weak ? weakMapChangeListener : this);
 					change = true;
 				} else {
-					om.removeListener(this);
+					om.removeListener(weak ? weakMapChangeListener : this);
 					change = false;
 				}
 			} else if (observable == null) {
@@ -2643,6 +3118,55 @@ public class BeanPathAdapter<B> {
 			}
 		}
 
+		/**
+		 * Adds/Removes an {@link Observable} that has been bound to the
+		 * {@link FieldProperty} so that it can be unbound when the
+		 * {@link FieldProperty} is disposed (only weakly referenced)
+		 * 
+		 * @param observable
+		 *            the bound {@link Property}, {@link ObservableList},
+		 *            {@link ObservableSet}, or {@link ObservableMap}
+		 * @param add
+		 *            true to add, false to remove
+		 */
+		protected void addRemoveBoundObservable(final Observable observable,
+				final boolean add) {
+			for (int i = boundObservables.size() - 1; i >= 0; i--) {
+				final Observable bo = boundObservables.get(i).get();
+				if (bo == null || bo == observable) {
+					boundObservables.remove(i);
+				}
+			}
+			if (add) {
+				boundObservables.add(new WeakReference<>(observable));
+			}
+		}
+
+		/**
+		 * Removes all of the bindings and listeners that the
+		 * {@link FieldProperty} has added to bound {@link Observable}s
+		 * 
+		 * @see BeanPathAdapter#dispose()
+		 */
+		protected void dispose() {
+			final Observable oc = getCollectionObservable();
+			for (final WeakReference<Observable> ref : boundObservables) {
+				final Observable bo = ref.get();
+				if (bo instanceof Property) {
+					Bindings.unbindBidirectional(this, bo);
+				} else if (bo != null && oc != null) {
+					Bindings.unbindContentBidirectional(oc, bo);
+				}
+			}
+			boundObservables.clear();
+			if (oc != null) {
+				addRemoveCollectionListener(oc, false);
+			}
+			if (collectionSelectionModel != null && itemMaster != null) {
+				itemMaster.removeListener(this);
+			}
+		}
+
 		/**
 		 * Detects {@link #itemMaster} changes for selection synchronization
 		 */
@@ -2659,6 +3183,8 @@ public class BeanPathAdapter<B> {
 		public final void onChanged(
 				ListChangeListener.Change<? extends Object> change) {
 			syncCollectionValues(getDirty(), true, false, change, null, null);
+			attachBean();
+			captureLastValue();
 		}
 
 		/**
@@ -2668,6 +3194,8 @@ public class BeanPathAdapter<B> {
 		public final void onChanged(
 				SetChangeListener.Change<? extends Object> change) {
 			syncCollectionValues(getDirty(), true, false, null, change, null);
+			attachBean();
+			captureLastValue();
 		}
 
 		/**
@@ -2677,6 +3205,8 @@ public class BeanPathAdapter<B> {
 		public final void onChanged(
 				MapChangeListener.Change<? extends Object, ? extends Object> change) {
 			syncCollectionValues(getDirty(), true, false, null, null, change);
+			attachBean();
+			captureLastValue();
 		}
 
 		/**
@@ -2924,6 +3454,10 @@ public class BeanPathAdapter<B> {
 			DFLTS.put(BigInteger.class, BigInteger.valueOf(0L));
 			DFLTS.put(BigDecimal.class, BigDecimal.valueOf(0D));
 		}
+		private static final String[] ACCESSOR_PREFIXES = { "get", "is",
+				"has", "use" };
+		private static final ClassValue<Map<String, MethodHandle>> ACCESSORS = new MethodHandleCache();
+		private static final ClassValue<Map<String, MethodHandle>> SETTERS = new MethodHandleCache();
 		private final String fieldName;
 		private MethodHandle accessor;
 		private MethodHandle setter;
@@ -2974,8 +3508,54 @@ public class BeanPathAdapter<B> {
 		 */
 		public static Class<?> getAccessorType(final Object target,
 				final String fieldName) {
-			return buildAccessorWithLikelyPrefixes(target, fieldName).type()
-					.returnType();
+			return unboundAccessor(target, fieldName).type().returnType();
+		}
+
+		/**
+		 * Gets the unbound accessor {@link MethodHandle} for the field name
+		 * using common prefixes used for methods to access a field. Each
+		 * accessor is only looked up once per target {@link Class}.
+		 * 
+		 * @param target
+		 *            the target object that the accessor is for
+		 * @param fieldName
+		 *            the field name that the accessor is for
+		 * @return the unbound accessor {@link MethodHandle}
+		 */
+		protected static MethodHandle unboundAccessor(final Object target,
+				final String fieldName) {
+			final Map<String, MethodHandle> mhs = ACCESSORS.get(target
+					.getClass());
+			MethodHandle mh = mhs.get(fieldName);
+			if (mh == null) {
+				mh = buildUnboundAccessor(target.getClass(), fieldName,
+						ACCESSOR_PREFIXES);
+				if (mh == null) {
+					throw new IllegalArgumentException(fieldName + " on "
+							+ target);
+				}
+				mhs.put(fieldName, mh);
+			}
+			return mh;
+		}
+
+		/**
+		 * {@link MethodHandle} cache that holds the {@link MethodHandle}s of a
+		 * target {@link Class} keyed by field name. The cache is attached to
+		 * the {@link Class} itself, so it does not keep the {@link ClassLoader}
+		 * of the target from being unloaded.
+		 */
+		private static class MethodHandleCache extends
+				ClassValue<Map<String, MethodHandle>> {
+
+			/**
+			 * {@inheritDoc}
+			 */
+			@Override
+			protected Map<String, MethodHandle> computeValue(
+					final Class<?> type) {
+				return new ConcurrentHashMap<>();
+			}
 		}
 
 		/**
@@ -2990,13 +3570,7 @@ public class BeanPathAdapter<B> {
 		 */
 		protected static MethodHandle buildAccessorWithLikelyPrefixes(
 				final Object target, final String fieldName) {
-			final MethodHandle mh = buildAccessor(target, fieldName, "get",
-					"is", "has", "use");
-			if (mh == null) {
-				// throw new NoSuchMethodException(fieldName + " on " + target);
-				throw new IllegalArgumentException(fieldName + " on " + target);
-			}
-			return mh;
+			return unboundAccessor(target, fieldName).bindTo(target);
 		}
 
 		/**
@@ -3014,21 +3588,40 @@ public class BeanPathAdapter<B> {
 		 */
 		protected static MethodHandle buildAccessor(final Object target,
 				final String fieldName, final String... fieldNamePrefix) {
+			final MethodHandle mh = buildUnboundAccessor(target.getClass(),
+					fieldName, fieldNamePrefix);
+			return mh != null ? mh.bindTo(target) : null;
+		}
+
+		/**
+		 * Attempts to build an unbound {@link MethodHandle} accessor for the
+		 * field name using common prefixes used for methods to access a field
+		 * 
+		 * @param targetClass
+		 *            the target {@link Class} that the accessor is for
+		 * @param fieldName
+		 *            the field name that the accessor is for
+		 * @param fieldNamePrefix
+		 *            the prefix of the method for the field name
+		 * @return the unbound accessor {@link MethodHandle} (null when no
+		 *         accessor exists for any of the prefixes)
+		 */
+		protected static MethodHandle buildUnboundAccessor(
+				final Class<?> targetClass, final String fieldName,
+				final String... fieldNamePrefix) {
 			final String accessorName = buildMethodName(fieldNamePrefix[0],
 					fieldName);
 			try {
-				return MethodHandles
-						.lookup()
-						.findVirtual(
-								target.getClass(),
-								accessorName,
-								MethodType.methodType(target.getClass()
-										.getMethod(accessorName)
-										.getReturnType())).bindTo(target);
+				return MethodHandles.lookup().findVirtual(
+						targetClass,
+						accessorName,
+						MethodType.methodType(targetClass.getMethod(
+								accessorName).getReturnType()));
 			} catch (final NoSuchMethodException e) {
-				return fieldNamePrefix.length <= 1 ? null : buildAccessor(
-						target, fieldName, Arrays.copyOfRange(fieldNamePrefix,
-								1, fieldNamePrefix.length));
+				return fieldNamePrefix.length <= 1 ? null
+						: buildUnboundAccessor(targetClass, fieldName, Arrays
+								.copyOfRange(fieldNamePrefix, 1,
+										fieldNamePrefix.length));
 			} catch (final Throwable t) {
 				throw new IllegalArgumentException(
 						"Unable to resolve accessor " + accessorName, t);
@@ -3049,15 +3642,19 @@ public class BeanPathAdapter<B> {
 		 */
 		protected static MethodHandle buildSetter(final MethodHandle accessor,
 				final Object target, final String fieldName) {
+			final Map<String, MethodHandle> mhs = SETTERS.get(target
+					.getClass());
+			MethodHandle mh1 = mhs.get(fieldName);
 			try {
-				final MethodHandle mh1 = MethodHandles
-						.lookup()
-						.findVirtual(
-								target.getClass(),
-								buildMethodName("set", fieldName),
-								MethodType.methodType(void.class, accessor
-										.type().returnType())).bindTo(target);
-				return mh1;
+				if (mh1 == null) {
+					mh1 = MethodHandles.lookup().findVirtual(
+							target.getClass(),
+							buildMethodName("set", fieldName),
+							MethodType.methodType(void.class, accessor.type()
+									.returnType()));
+					mhs.put(fieldName, mh1);
+				}
+				return mh1.bindTo(target);
 			} catch (final Throwable t) {
 				throw new IllegalArgumentException("Unable to resolve setter "
 						+ fieldName, t);
@@ -29,11 +29,13 @@
 
 package jfxtras.labs.scene.control.gauge;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.TreeMap;
 
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Stop;
+import jfxtras.labs.util.ArgbColor;
 
 
 /**
@@ -43,77 +45,138 @@ import javafx.scene.paint.Stop;
  * Time: 09:14
  */
 public class GradientLookup {
-    private Map<Double, Stop> stops;
+    private double[] fractions;
+    private double[] reds;
+    private double[] greens;
+    private double[] blues;
+    private double[] opacities;
+    private Color[]  colors;
+    private int[]    table;
 
     // ******************** Constructors **************************************
     public GradientLookup(final Stop... STOPS) {
-        stops = new TreeMap<Double, Stop>();
+        final Map<Double, Stop> STOP_MAP = new TreeMap<Double, Stop>();
         for (Stop stop : STOPS) {
-            stops.put(stop.getOffset(), stop);
+            STOP_MAP.put(stop.getOffset(), stop);
         }
-        init();
+        init(STOP_MAP);
     }
 
 
     // ******************** Initialization ************************************
-    private void init() {
+    private void init(final Map<Double, Stop> STOPS) {
         double minFraction = 1;
         double maxFraction = 0;
-        for (Double fraction : stops.keySet()) {
+        for (Double fraction : STOPS.keySet()) {
             minFraction = Math.min(fraction, minFraction);
             maxFraction = Math.max(fraction, maxFraction);
         }
         if (minFraction > 0) {
-            stops.put(0.0, new Stop(0.0, stops.get(minFraction).getColor()));
+            STOPS.put(0.0, new Stop(0.0, STOPS.get(minFraction).getColor()));
         }
         if (maxFraction < 1){
-            stops.put(1.0, new Stop(1.0, stops.get(maxFraction).getColor()));
+            STOPS.put(1.0, new Stop(1.0, STOPS.get(maxFraction).getColor()));
+        }
+
+        // keep the sorted stops in parallel arrays for the binary search
+        final int NO_OF_STOPS = STOPS.size();
+        fractions = new double[NO_OF_STOPS];
+        reds      = new double[NO_OF_STOPS];
+        greens    = new double[NO_OF_STOPS];
+        blues     = new double[NO_OF_STOPS];
+        opacities = new double[NO_OF_STOPS];
+        colors    = new Color[NO_OF_STOPS];
+        int i = 0;
+        for (Stop stop : STOPS.values()) {
+            fractions[i] = stop.getOffset();
+            reds[i]      = stop.getColor().getRed();
+            greens[i]    = stop.getColor().getGreen();
+            blues[i]     = stop.getColor().getBlue();
+            opacities[i] = stop.getColor().getOpacity();
+            colors[i]    = stop.getColor();
+            i++;
         }
     }
 
 
     // ******************** Methods *******************************************
     public Color getColorAt(final double POSITION_OF_COLOR) {
-        final double POSITION = POSITION_OF_COLOR < 0 ? 0 : (POSITION_OF_COLOR > 1 ? 1 : POSITION_OF_COLOR);
-        final Color COLOR;
-        if (stops.size() == 1) {
-            final Map<Double, Color> ONE_ENTRY = (Map<Double, Color>) stops.entrySet().iterator().next();
-            COLOR = stops.get(ONE_ENTRY.keySet().iterator().next()).getColor();
-        } else {
-            Stop lowerBound = stops.get(0.0);
-            Stop upperBound = stops.get(1.0);
-            for (Double fraction : stops.keySet()) {
-                if (Double.compare(fraction,POSITION) < 0) {
-                    lowerBound = stops.get(fraction);
-                }
-                if (Double.compare(fraction, POSITION) > 0) {
-                    upperBound = stops.get(fraction);
-                    break;
-                }
-            }
-            COLOR = interpolateColor(lowerBound, upperBound, POSITION);
+        final double POSITION = ArgbColor.clamp(POSITION_OF_COLOR);
+        final int    INDEX    = Arrays.binarySearch(fractions, POSITION);
+        if (INDEX >= 0) {
+            return colors[INDEX];
         }
-        return COLOR;
+        final int UPPER = -INDEX - 1;
+        final int LOWER = UPPER - 1;
+        final double POS = (POSITION - fractions[LOWER]) / (fractions[UPPER] - fractions[LOWER]);
+        return Color.color(interpolate(reds, LOWER, UPPER, POS), interpolate(greens, LOWER, UPPER, POS),
+                           interpolate(blues, LOWER, UPPER, POS), interpolate(opacities, LOWER, UPPER, POS));
     }
 
-    private Color interpolateColor(final Stop LOWER_BOUND, final Stop UPPER_BOUND, final double POSITION) {
-        final double POS  = (POSITION - LOWER_BOUND.getOffset()) / (UPPER_BOUND.getOffset() - LOWER_BOUND.getOffset());
+    /**
+     * Returns the color at the given position as non-premultiplied ARGB
+     * value without allocating anything. Uses the lookup table if one has
+     * been set up with {@link #setTableSize(int)}.
+     */
+    public int getArgbAt(final double POSITION_OF_COLOR) {
+        final double POSITION = ArgbColor.clamp(POSITION_OF_COLOR);
+        if (table != null) {
+            return table[(int) (POSITION * (table.length - 1) + 0.5)];
+        }
+        return computeArgbAt(POSITION);
+    }
 
-        final double DELTA_RED     = (UPPER_BOUND.getColor().getRed() - LOWER_BOUND.getColor().getRed()) * POS;
-        final double DELTA_GREEN   = (UPPER_BOUND.getColor().getGreen() - LOWER_BOUND.getColor().getGreen()) * POS;
-        final double DELTA_BLUE    = (UPPER_BOUND.getColor().getBlue() - LOWER_BOUND.getColor().getBlue()) * POS;
-        final double DELTA_OPACITY = (UPPER_BOUND.getColor().getOpacity() - LOWER_BOUND.getColor().getOpacity()) * POS;
+    /**
+     * Stores the colors at all POSITIONS as non-premultiplied ARGB values
+     * in OUT, which must be at least as long as POSITIONS.
+     */
+    public void fillArgb(final double[] POSITIONS, final int[] OUT) {
+        for (int i = 0; i < POSITIONS.length; i++) {
+            OUT[i] = getArgbAt(POSITIONS[i]);
+        }
+    }
 
-        double red     = LOWER_BOUND.getColor().getRed() + DELTA_RED;
-        double green   = LOWER_BOUND.getColor().getGreen() + DELTA_GREEN;
-        double blue    = LOWER_BOUND.getColor().getBlue() + DELTA_BLUE;
-        double opacity = LOWER_BOUND.getColor().getOpacity() + DELTA_OPACITY;
+    /**
+     * Returns the colors at SIZE evenly spaced positions from 0 to 1 as
+     * non-premultiplied ARGB values.
+     */
+    public int[] createArgbTable(final int SIZE) {
+        final int[] TABLE = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            TABLE[i] = computeArgbAt(SIZE == 1 ? 0 : (double) i / (SIZE - 1));
+        }
+        return TABLE;
+    }
 
-        red     = red < 0 ? 0   : (red > 1 ? 1   : red);
-        green   = green < 0 ? 0 : (green > 1 ? 1 : green);
-        blue    = blue < 0 ? 0  : (blue > 1 ? 1  : blue);
-        opacity = opacity < 0 ? 0 : (opacity > 1 ? 1 : opacity);
+    /**
+     * Lets getArgbAt() and fillArgb() look the colors up in a precomputed
+     * table of the given size instead of interpolating them, which trades
+     * precision for speed. A size of 0 switches the table off.
+     */
+    public void setTableSize(final int SIZE) {
+        if (SIZE < 0 || SIZE == 1) {
+            throw new IllegalArgumentException("Table size must be 0 or at least 2: " + SIZE);
+        }
+        table = SIZE == 0 ? null : createArgbTable(SIZE);
+    }
+
+    public int getTableSize() {
+        return table == null ? 0 : table.length;
+    }
+
+    private int computeArgbAt(final double POSITION) {
+        final int INDEX = Arrays.binarySearch(fractions, POSITION);
+        if (INDEX >= 0) {
+            return ArgbColor.fromRgb(reds[INDEX], greens[INDEX], blues[INDEX], opacities[INDEX]);
+        }
+        final int UPPER = -INDEX - 1;
+        final int LOWER = UPPER - 1;
+        final double POS = (POSITION - fractions[LOWER]) / (fractions[UPPER] - fractions[LOWER]);
+        return ArgbColor.fromRgb(interpolate(reds, LOWER, UPPER, POS), interpolate(greens, LOWER, UPPER, POS),
+                                 interpolate(blues, LOWER, UPPER, POS), interpolate(opacities, LOWER, UPPER, POS));
+    }
 
-        return Color.color(red, green, blue, opacity);
+    private static double interpolate(final double[] VALUES, final int LOWER, final int UPPER, final double POS) {
+        return ArgbColor.clamp(VALUES[LOWER] + (VALUES[UPPER] - VALUES[LOWER]) * POS);
     }
 }
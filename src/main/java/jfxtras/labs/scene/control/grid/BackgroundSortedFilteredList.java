@@ -0,0 +1,352 @@
+/**
+ * BackgroundSortedFilteredList.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control.grid;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Predicate;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+
+/**
+ * A filtered and sorted view of a list that is computed on a background
+ * thread, meant as the items of a {@link GridView} with many items. The
+ * predicate and the comparator are applied off the JavaFX application
+ * thread, large results are sorted with {@link Arrays#parallelSort}, and the
+ * result is published as a single replace change, which the grid applies to
+ * its visible cells only. Until then the view keeps showing the previous
+ * result, so typing into a filter field is never blocked.
+ * 
+ * Every change of the predicate, the comparator or the source list starts a
+ * new computation and cancels the one that is running, so only the result
+ * for the latest state is published. If the predicate or the comparator
+ * throws, the view keeps its previous result and the exception is available
+ * through the {@link #errorProperty() error} property.
+ * 
+ * The predicate and the comparator are called on a background thread; they
+ * must not access the scene graph. The view itself must only be used on the
+ * JavaFX application thread.
+ * 
+ * @param <T>
+ *            the type of the items
+ */
+public class BackgroundSortedFilteredList<T> extends ObservableListBase<T> {
+
+	/**
+	 * Results with at least this number of items are sorted in parallel
+	 */
+	public static final int PARALLEL_SORT_THRESHOLD = 8192;
+
+	/**
+	 * The number of items that are filtered between two checks for
+	 * cancellation
+	 */
+	private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+	private static ExecutorService defaultExecutor;
+
+	private final ObservableList<T> source;
+
+	private final ExecutorService executor;
+
+	private final ObjectProperty<Predicate<? super T>> predicate = new SimpleObjectProperty<>(
+			this, "predicate");
+
+	private final ObjectProperty<Comparator<? super T>> comparator = new SimpleObjectProperty<>(
+			this, "comparator");
+
+	private final ReadOnlyBooleanWrapper computing = new ReadOnlyBooleanWrapper(
+			this, "computing");
+
+	private final ReadOnlyObjectWrapper<Throwable> error = new ReadOnlyObjectWrapper<>(
+			this, "error");
+
+	private Object[] elements;
+
+	/**
+	 * Incremented for every new computation; a computation stops as soon as
+	 * it is no longer the latest one
+	 */
+	private volatile int generation;
+
+	private Future<?> runningComputation;
+
+	/**
+	 * Creates a view that computes on a shared background thread.
+	 * 
+	 * @param source
+	 *            the list that is filtered and sorted
+	 */
+	public BackgroundSortedFilteredList(ObservableList<T> source) {
+		this(source, getDefaultExecutor());
+	}
+
+	/**
+	 * @param source
+	 *            the list that is filtered and sorted
+	 * @param executor
+	 *            the executor that runs the computations
+	 */
+	public BackgroundSortedFilteredList(ObservableList<T> source,
+			ExecutorService executor) {
+		this.source = source;
+		this.executor = executor;
+		InvalidationListener recomputeListener = new InvalidationListener() {
+
+			@Override
+			public void invalidated(Observable observable) {
+				recompute();
+			}
+		};
+		predicate.addListener(recomputeListener);
+		comparator.addListener(recomputeListener);
+		source.addListener(new ListChangeListener<T>() {
+
+			@Override
+			public void onChanged(Change<? extends T> change) {
+				recompute();
+			}
+		});
+		// without predicate and comparator the view equals the source
+		elements = source.toArray();
+	}
+
+	private static synchronized ExecutorService getDefaultExecutor() {
+		if (defaultExecutor == null) {
+			defaultExecutor = Executors
+					.newSingleThreadExecutor(new ThreadFactory() {
+
+						@Override
+						public Thread newThread(Runnable runnable) {
+							Thread thread = new Thread(runnable,
+									"GridView sort/filter");
+							thread.setDaemon(true);
+							return thread;
+						}
+					});
+		}
+		return defaultExecutor;
+	}
+
+	/**
+	 * The items for which the predicate returns <code>false</code> are not
+	 * part of the view; <code>null</code> shows all items
+	 */
+	public final ObjectProperty<Predicate<? super T>> predicateProperty() {
+		return predicate;
+	}
+
+	public final Predicate<? super T> getPredicate() {
+		return predicate.get();
+	}
+
+	public final void setPredicate(Predicate<? super T> value) {
+		predicate.set(value);
+	}
+
+	/**
+	 * The order of the items in the view; <code>null</code> keeps the order
+	 * of the source
+	 */
+	public final ObjectProperty<Comparator<? super T>> comparatorProperty() {
+		return comparator;
+	}
+
+	public final Comparator<? super T> getComparator() {
+		return comparator.get();
+	}
+
+	public final void setComparator(Comparator<? super T> value) {
+		comparator.set(value);
+	}
+
+	/**
+	 * <code>true</code> while a computation is running whose result has not
+	 * been published yet
+	 */
+	public final ReadOnlyBooleanProperty computingProperty() {
+		return computing.getReadOnlyProperty();
+	}
+
+	public final boolean isComputing() {
+		return computing.get();
+	}
+
+	/**
+	 * The exception thrown by the predicate or the comparator during the
+	 * latest computation, <code>null</code> if it succeeded
+	 */
+	public final ReadOnlyObjectProperty<Throwable> errorProperty() {
+		return error.getReadOnlyProperty();
+	}
+
+	public final Throwable getError() {
+		return error.get();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= elements.length) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+		}
+		return (T) elements[index];
+	}
+
+	@Override
+	public int size() {
+		return elements.length;
+	}
+
+	/**
+	 * Starts a computation for the current state and cancels the running one.
+	 */
+	private void recompute() {
+		final int computationGeneration = ++generation;
+		if (runningComputation != null) {
+			runningComputation.cancel(true);
+		}
+		// the snapshot is taken on the application thread, so the source
+		// must not be accessed by the background thread
+		final Object[] snapshot = source.toArray();
+		final Predicate<? super T> currentPredicate = getPredicate();
+		final Comparator<? super T> currentComparator = getComparator();
+		computing.set(true);
+		runningComputation = executor.submit(new Runnable() {
+
+			@Override
+			public void run() {
+				final Object[] result;
+				try {
+					result = compute(snapshot, currentPredicate,
+							currentComparator, computationGeneration);
+				} catch (CancellationException e) {
+					return;
+				} catch (final RuntimeException e) {
+					Platform.runLater(new Runnable() {
+
+						@Override
+						public void run() {
+							if (computationGeneration == generation) {
+								fail(e);
+							}
+						}
+					});
+					return;
+				}
+				Platform.runLater(new Runnable() {
+
+					@Override
+					public void run() {
+						if (computationGeneration == generation) {
+							publish(result);
+						}
+					}
+				});
+			}
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object[] compute(Object[] snapshot,
+			Predicate<? super T> currentPredicate,
+			Comparator<? super T> currentComparator, int computationGeneration) {
+		Object[] result = snapshot;
+		if (currentPredicate != null) {
+			result = new Object[snapshot.length];
+			int size = 0;
+			for (int i = 0; i < snapshot.length; i++) {
+				if (i % CANCEL_CHECK_INTERVAL == 0) {
+					checkCancelled(computationGeneration);
+				}
+				if (currentPredicate.test((T) snapshot[i])) {
+					result[size++] = snapshot[i];
+				}
+			}
+			result = Arrays.copyOf(result, size);
+		}
+		if (currentComparator != null) {
+			checkCancelled(computationGeneration);
+			Comparator<Object> objectComparator = (Comparator<Object>) currentComparator;
+			if (result.length >= PARALLEL_SORT_THRESHOLD) {
+				Arrays.parallelSort(result, objectComparator);
+			} else {
+				Arrays.sort(result, objectComparator);
+			}
+		}
+		checkCancelled(computationGeneration);
+		return result;
+	}
+
+	private void checkCancelled(int computationGeneration) {
+		if (computationGeneration != generation
+				|| Thread.currentThread().isInterrupted()) {
+			throw new CancellationException();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void publish(Object[] result) {
+		List<T> removed = (List<T>) Arrays.asList(elements);
+		elements = result;
+		runningComputation = null;
+		computing.set(false);
+		error.set(null);
+		if (removed.isEmpty() && elements.length == 0) {
+			return;
+		}
+		beginChange();
+		nextReplace(0, elements.length, removed);
+		endChange();
+	}
+
+	private void fail(Throwable exception) {
+		runningComputation = null;
+		computing.set(false);
+		error.set(exception);
+	}
+}
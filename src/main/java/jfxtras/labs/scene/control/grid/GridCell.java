@@ -29,6 +29,8 @@
 
 package jfxtras.labs.scene.control.grid;
 
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.scene.control.IndexedCell;
 
 /**
@@ -40,8 +42,32 @@ public class GridCell<T> extends IndexedCell<T> {
 
 	public GridCell() {
 		getStyleClass().add("grid-cell");
+		// the skin sets the items directly, so keep the empty state (which
+		// e.g. decides whether the cell can be selected) in sync with it
+		itemProperty().addListener(new ChangeListener<T>() {
+
+			@Override
+			public void changed(ObservableValue<? extends T> arg0, T arg1,
+					T arg2) {
+				updateItem(arg2, arg2 == null);
+			}
+		});
 	}
 	
+	/**
+	 * Called by the skin of the {@link GridView} when this cell is no longer
+	 * needed for its current item and is put into the pool of reusable cells.
+	 * The cell will receive its next item through {@link #setItem(Object)} and
+	 * {@link #updateIndex(int)}. Subclasses that hold resources for the
+	 * current item (players, large images, listeners) should override this
+	 * method to release them and call the super implementation.
+	 */
+	public void recycle() {
+		updateSelected(false);
+		updateIndex(-1);
+		setItem(null);
+	}
+
 	public void setCssDependency() {
 //		setSkinClassName(GridCellSkin.class.getName());
 	}
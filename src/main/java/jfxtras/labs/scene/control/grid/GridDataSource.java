@@ -0,0 +1,63 @@
+/**
+ * GridDataSource.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control.grid;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A source of items that are loaded on demand, for example from a database.
+ * Wrap it in a {@link PagedItemList} to show it in a {@link GridView}; only
+ * the pages near the visible rows are fetched then.
+ * 
+ * @param <T>
+ *            the type of the items
+ */
+public interface GridDataSource<T> {
+
+	/**
+	 * @return the total number of items
+	 */
+	int getItemCount();
+
+	/**
+	 * Fetches a range of items. The method is called on the JavaFX
+	 * application thread and should not block; the future may be completed
+	 * on any thread.
+	 * 
+	 * @param from
+	 *            the index of the first item, inclusive
+	 * @param to
+	 *            the index of the last item, exclusive
+	 * @return a future that completes with the <code>to - from</code> items of
+	 *         the range
+	 */
+	CompletableFuture<List<T>> fetch(int from, int to);
+}
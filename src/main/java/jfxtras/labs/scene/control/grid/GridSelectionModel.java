@@ -0,0 +1,385 @@
+/**
+ * GridSelectionModel.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control.grid;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+/**
+ * The selection of a {@link GridView}, stored as a {@link BitSet} of item
+ * indices. Selecting or clearing a range only touches the words of the bit
+ * set, and {@link #selectAll()} is O(1): it switches the model into an
+ * inverted mode in which the bit set holds the unselected indices.
+ * 
+ * Listeners are informed about changes as index ranges, so a select-all
+ * over 500k items is a single event. The selection follows insertions,
+ * removals and permutations of the items without an event, since the indices
+ * move together with the items; it is cleared if the items list is
+ * replaced.
+ * 
+ * @param <T>
+ *            the type of the items of the grid
+ */
+public class GridSelectionModel<T> {
+
+	/**
+	 * Is informed about changes of the selection.
+	 */
+	public interface SelectionListener {
+
+		/**
+		 * The selection state of the items in a range has changed. Indices in
+		 * the range may already have had the new state before.
+		 * 
+		 * @param from
+		 *            the first index of the range, inclusive
+		 * @param to
+		 *            the last index of the range, exclusive
+		 * @param selected
+		 *            the new state of all items in the range
+		 */
+		void selectionChanged(int from, int to, boolean selected);
+	}
+
+	private final ObservableValue<ObservableList<T>> itemsProperty;
+
+	/**
+	 * The selected indices, or the unselected ones if {@link #inverted}
+	 */
+	private BitSet bits = new BitSet();
+
+	private boolean inverted;
+
+	private final ReadOnlyIntegerWrapper focusedIndex = new ReadOnlyIntegerWrapper(
+			this, "focusedIndex", -1);
+
+	/**
+	 * The index range selections start from
+	 */
+	private int anchor = -1;
+
+	private final List<SelectionListener> listeners = new CopyOnWriteArrayList<>();
+
+	private final ListChangeListener<T> itemsListener = new ListChangeListener<T>() {
+
+		@Override
+		public void onChanged(Change<? extends T> change) {
+			while (change.next()) {
+				if (change.wasPermutated()) {
+					permute(change);
+				} else if (!change.wasUpdated()) {
+					int from = change.getFrom();
+					shift(from + change.getRemovedSize(), change.getAddedSize()
+							- change.getRemovedSize());
+					// new items are unselected
+					if (inverted) {
+						bits.set(from, from + change.getAddedSize());
+					} else {
+						bits.clear(from, from + change.getAddedSize());
+					}
+				}
+			}
+			int itemCount = getItemCount();
+			if (focusedIndex.get() >= itemCount) {
+				focusedIndex.set(itemCount - 1);
+			}
+			if (anchor >= itemCount) {
+				anchor = itemCount - 1;
+			}
+		}
+	};
+
+	/**
+	 * @param gridView
+	 *            the grid view whose items are selected
+	 */
+	public GridSelectionModel(GridView<T> gridView) {
+		this(gridView.itemsProperty());
+	}
+
+	/**
+	 * @param itemsProperty
+	 *            the items that are selected
+	 */
+	GridSelectionModel(ObservableValue<ObservableList<T>> itemsProperty) {
+		this.itemsProperty = itemsProperty;
+		itemsProperty.addListener(
+				new ChangeListener<ObservableList<T>>() {
+
+					@Override
+					public void changed(
+							ObservableValue<? extends ObservableList<T>> arg0,
+							ObservableList<T> oldList, ObservableList<T> newList) {
+						if (oldList != null) {
+							oldList.removeListener(itemsListener);
+						}
+						if (newList != null) {
+							newList.addListener(itemsListener);
+						}
+						bits = new BitSet();
+						inverted = false;
+						anchor = -1;
+						focusedIndex.set(-1);
+						fireSelectionChanged(0, getItemCount(), false);
+					}
+				});
+		if (itemsProperty.getValue() != null) {
+			itemsProperty.getValue().addListener(itemsListener);
+		}
+	}
+
+	public void addSelectionListener(SelectionListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeSelectionListener(SelectionListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * @param index
+	 *            an item index
+	 * @return <code>true</code> if the item is selected
+	 */
+	public boolean isSelected(int index) {
+		return index >= 0 && index < getItemCount()
+				&& bits.get(index) != inverted;
+	}
+
+	/**
+	 * Selects a single item, keeping the rest of the selection, and makes it
+	 * the focused item and the anchor of range selections.
+	 */
+	public void select(int index) {
+		checkIndex(index);
+		setBits(index, index + 1, true);
+		anchor = index;
+		focusedIndex.set(index);
+	}
+
+	/**
+	 * Clears the selection and selects a single item.
+	 */
+	public void clearAndSelect(int index) {
+		checkIndex(index);
+		clearSelection();
+		select(index);
+	}
+
+	/**
+	 * Selects the items from <code>from</code> inclusive to <code>to</code>
+	 * exclusive.
+	 */
+	public void selectRange(int from, int to) {
+		checkRange(from, to);
+		setBits(from, to, true);
+	}
+
+	/**
+	 * Unselects the items from <code>from</code> inclusive to <code>to</code>
+	 * exclusive.
+	 */
+	public void clearSelectionRange(int from, int to) {
+		checkRange(from, to);
+		setBits(from, to, false);
+	}
+
+	public void clearSelection(int index) {
+		checkIndex(index);
+		setBits(index, index + 1, false);
+	}
+
+	/**
+	 * Inverts the selection state of a single item and makes it the focused
+	 * item and the anchor of range selections.
+	 */
+	public void toggle(int index) {
+		checkIndex(index);
+		setBits(index, index + 1, !isSelected(index));
+		anchor = index;
+		focusedIndex.set(index);
+	}
+
+	/**
+	 * Replaces the selection by the range between the anchor (or the given
+	 * index if there is no anchor) and the given index, which becomes the
+	 * focused item. This is what a shift-click or shift-arrow does.
+	 */
+	public void selectRangeFromAnchor(int index) {
+		checkIndex(index);
+		if (anchor < 0 || anchor >= getItemCount()) {
+			anchor = index;
+		}
+		clearSelection();
+		setBits(Math.min(anchor, index), Math.max(anchor, index) + 1, true);
+		focusedIndex.set(index);
+	}
+
+	/**
+	 * Selects all items in O(1).
+	 */
+	public void selectAll() {
+		bits = new BitSet();
+		inverted = true;
+		fireSelectionChanged(0, getItemCount(), true);
+	}
+
+	/**
+	 * Unselects all items in O(1).
+	 */
+	public void clearSelection() {
+		bits = new BitSet();
+		inverted = false;
+		fireSelectionChanged(0, getItemCount(), false);
+	}
+
+	/**
+	 * @return the number of selected items
+	 */
+	public int getSelectedCount() {
+		int itemCount = getItemCount();
+		int count = bits.get(0, itemCount).cardinality();
+		return inverted ? itemCount - count : count;
+	}
+
+	public boolean isEmpty() {
+		return getSelectedCount() == 0;
+	}
+
+	/**
+	 * @return a copy of the selected indices
+	 */
+	public BitSet getSelectedIndices() {
+		int itemCount = getItemCount();
+		BitSet selected = bits.get(0, itemCount);
+		if (inverted) {
+			selected.flip(0, itemCount);
+		}
+		return selected;
+	}
+
+	/**
+	 * @return the selected items in the order of the grid
+	 */
+	public List<T> getSelectedItems() {
+		BitSet selected = getSelectedIndices();
+		List<T> items = new ArrayList<>(selected.cardinality());
+		for (int i = selected.nextSetBit(0); i >= 0; i = selected
+				.nextSetBit(i + 1)) {
+			items.add(itemsProperty.getValue().get(i));
+		}
+		return items;
+	}
+
+	/**
+	 * The index of the item the keyboard navigation starts from, or -1
+	 */
+	public ReadOnlyIntegerProperty focusedIndexProperty() {
+		return focusedIndex.getReadOnlyProperty();
+	}
+
+	public int getFocusedIndex() {
+		return focusedIndex.get();
+	}
+
+	/**
+	 * Moves the focus without changing the selection.
+	 */
+	public void focus(int index) {
+		checkIndex(index);
+		focusedIndex.set(index);
+	}
+
+	private void setBits(int from, int to, boolean selected) {
+		bits.set(from, to, selected != inverted);
+		fireSelectionChanged(from, to, selected);
+	}
+
+	/**
+	 * Moves the bits from <code>from</code> on by <code>delta</code>. A
+	 * negative delta drops the bits of the removed range before
+	 * <code>from</code>.
+	 */
+	private void shift(int from, int delta) {
+		if (delta < 0) {
+			bits.clear(from + delta, from);
+		}
+		if (delta == 0 || from >= bits.length()) {
+			return;
+		}
+		BitSet tail = bits.get(from, bits.length());
+		bits.clear(Math.min(from, from + delta), bits.length());
+		for (int i = tail.nextSetBit(0); i >= 0; i = tail.nextSetBit(i + 1)) {
+			bits.set(from + delta + i);
+		}
+	}
+
+	private void permute(ListChangeListener.Change<? extends T> change) {
+		int from = change.getFrom();
+		int to = change.getTo();
+		BitSet old = bits.get(from, to);
+		bits.clear(from, to);
+		for (int i = old.nextSetBit(0); i >= 0; i = old.nextSetBit(i + 1)) {
+			bits.set(change.getPermutation(from + i));
+		}
+	}
+
+	private void fireSelectionChanged(int from, int to, boolean selected) {
+		for (SelectionListener listener : listeners) {
+			listener.selectionChanged(from, to, selected);
+		}
+	}
+
+	private int getItemCount() {
+		ObservableList<T> items = itemsProperty.getValue();
+		return items == null ? 0 : items.size();
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= getItemCount()) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + getItemCount());
+		}
+	}
+
+	private void checkRange(int from, int to) {
+		if (from < 0 || to > getItemCount() || from > to) {
+			throw new IndexOutOfBoundsException("Range: [" + from + ", " + to + "), Size: " + getItemCount());
+		}
+	}
+}
@@ -31,6 +31,7 @@ package jfxtras.labs.scene.control.grid;
 
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -59,13 +60,24 @@ public class GridView<T> extends Control {
 
 	private ObjectProperty<HPos> horizontalAlignment;
 
+	private final GridSelectionModel<T> selectionModel;
+
 	public GridView() {
 		this(FXCollections.<T> observableArrayList());
 	}
 
 	public GridView(ObservableList<T> items) {
 		getStyleClass().add("grid-view");
+		setFocusTraversable(true);
 		setItems(items);
+		selectionModel = new GridSelectionModel<>(this);
+	}
+
+	/**
+	 * @return the model of the selected items
+	 */
+	public final GridSelectionModel<T> getSelectionModel() {
+		return selectionModel;
 	}
 
 	public void setHorizontalCellSpacing(double value) {
@@ -83,6 +95,10 @@ public class GridView<T> extends Control {
 //					"horizontalCellSpacing",
 //					StyleableProperties.HORIZONTAL_CELL_SPACING);
 //		}
+		if (horizontalCellSpacing == null) {
+			horizontalCellSpacing = new SimpleDoubleProperty(this,
+					"horizontalCellSpacing", 12.0);
+		}
 		return horizontalCellSpacing;
 	}
 
@@ -100,6 +116,10 @@ public class GridView<T> extends Control {
 //					"verticalCellSpacing",
 //					StyleableProperties.VERTICAL_CELL_SPACING);
 //		}
+		if (verticalCellSpacing == null) {
+			verticalCellSpacing = new SimpleDoubleProperty(this,
+					"verticalCellSpacing", 12.0);
+		}
 		return verticalCellSpacing;
 	}
 
@@ -108,6 +128,10 @@ public class GridView<T> extends Control {
 //			cellWidth = new SimpleStyleableDoubleProperty(this, "cellWidth",
 //					StyleableProperties.CELL_WIDTH);
 //		}
+		if (cellWidth == null) {
+			cellWidth = new SimpleDoubleProperty(this,
+					"cellWidth", 64.0);
+		}
 		return cellWidth;
 	}
 
@@ -124,6 +148,10 @@ public class GridView<T> extends Control {
 //			cellHeight = new SimpleStyleableDoubleProperty(this, "cellHeight",
 //					StyleableProperties.CELL_HEIGHT);
 //		}
+		if (cellHeight == null) {
+			cellHeight = new SimpleDoubleProperty(this,
+					"cellHeight", 64.0);
+		}
 		return cellHeight;
 	}
 
@@ -156,6 +184,10 @@ public class GridView<T> extends Control {
 //				}
 //			};
 //		}
+		if (horizontalAlignment == null) {
+			horizontalAlignment = new SimpleObjectProperty<HPos>(this,
+					"horizontalAlignment", HPos.CENTER);
+		}
 		return horizontalAlignment;
 	}
 
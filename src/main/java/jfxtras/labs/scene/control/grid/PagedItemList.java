@@ -0,0 +1,243 @@
+/**
+ * PagedItemList.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control.grid;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.ObservableListBase;
+
+/**
+ * A read-only list of the items of a {@link GridDataSource} that loads the
+ * items page by page when they are accessed. The virtualized
+ * {@link GridView} only accesses the items of the visible rows, so only the
+ * pages near the viewport are fetched.
+ * 
+ * {@link #get(int)} returns <code>null</code> for an item whose page is not
+ * loaded yet and starts fetching the page; cells show their placeholder for
+ * a <code>null</code> item. When the page arrives, a replace change is fired
+ * for its range, so the cells get the loaded items. The next page in the
+ * direction of the last access is prefetched, and the most recently used
+ * pages are kept in an LRU cache.
+ * 
+ * If fetching a page fails, its items stay <code>null</code> and the
+ * exception is available through the {@link #errorProperty() error} property.
+ * A failed page is not fetched again until {@link #refresh()} is called.
+ * 
+ * The list must only be used on the JavaFX application thread.
+ * 
+ * @param <T>
+ *            the type of the items
+ */
+public class PagedItemList<T> extends ObservableListBase<T> {
+
+	private final GridDataSource<T> dataSource;
+
+	private final int pageSize;
+
+	private final LinkedHashMap<Integer, List<T>> pages;
+
+	private final Set<Integer> pendingPages = new HashSet<>();
+
+	private final Set<Integer> failedPages = new HashSet<>();
+
+	private final ReadOnlyObjectWrapper<Throwable> error = new ReadOnlyObjectWrapper<>(
+			this, "error");
+
+	private int size;
+
+	private int lastPage = -1;
+
+	/**
+	 * Incremented by {@link #refresh()} so pages of an older state are
+	 * dropped when they arrive
+	 */
+	private int generation;
+
+	/**
+	 * @param dataSource
+	 *            the source of the items
+	 * @param pageSize
+	 *            the number of items that are fetched at once
+	 * @param maxCachedPages
+	 *            the number of pages that are kept in memory
+	 */
+	public PagedItemList(GridDataSource<T> dataSource, int pageSize,
+			final int maxCachedPages) {
+		if (pageSize < 1 || maxCachedPages < 1) {
+			throw new IllegalArgumentException("pageSize and maxCachedPages must be at least 1");
+		}
+		this.dataSource = dataSource;
+		this.pageSize = pageSize;
+		this.pages = new LinkedHashMap<Integer, List<T>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<Integer, List<T>> eldest) {
+				return size() > maxCachedPages;
+			}
+		};
+		this.size = dataSource.getItemCount();
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		int page = index / pageSize;
+		List<T> items = pages.get(page);
+		if (page > lastPage && lastPage >= 0) {
+			fetchPage(page + 1);
+		} else if (page < lastPage) {
+			fetchPage(page - 1);
+		}
+		lastPage = page;
+		if (items == null) {
+			fetchPage(page);
+			return null;
+		}
+		return items.get(index - page * pageSize);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param index
+	 *            the index of an item
+	 * @return <code>true</code> if the page of the item is loaded
+	 */
+	public boolean isLoaded(int index) {
+		return pages.containsKey(index / pageSize);
+	}
+
+	/**
+	 * The exception of the most recent failed fetch, <code>null</code> if no
+	 * fetch has failed since the last {@link #refresh()}
+	 */
+	public final ReadOnlyObjectProperty<Throwable> errorProperty() {
+		return error.getReadOnlyProperty();
+	}
+
+	public final Throwable getError() {
+		return error.get();
+	}
+
+	/**
+	 * Drops all loaded pages and reads the item count of the data source
+	 * again. Fires a change that replaces all items. Pages whose fetch failed
+	 * are fetched again when they are accessed.
+	 */
+	public void refresh() {
+		generation++;
+		pages.clear();
+		pendingPages.clear();
+		failedPages.clear();
+		error.set(null);
+		lastPage = -1;
+		int oldSize = size;
+		size = dataSource.getItemCount();
+		beginChange();
+		nextReplace(0, size, Collections.<T> nCopies(oldSize, null));
+		endChange();
+	}
+
+	private void fetchPage(final int page) {
+		final int from = page * pageSize;
+		if (page < 0 || from >= size || pages.containsKey(page)
+				|| failedPages.contains(page) || !pendingPages.add(page)) {
+			return;
+		}
+		final int to = Math.min(size, from + pageSize);
+		final int fetchGeneration = generation;
+		final CompletableFuture<List<T>> future;
+		try {
+			future = dataSource.fetch(from, to);
+		} catch (RuntimeException e) {
+			pendingPages.remove(page);
+			pageFailed(page, e);
+			return;
+		}
+		future.whenComplete(
+				new BiConsumer<List<T>, Throwable>() {
+
+					@Override
+					public void accept(final List<T> items,
+							final Throwable failure) {
+						Platform.runLater(new Runnable() {
+
+							@Override
+							public void run() {
+								if (fetchGeneration != generation) {
+									return;
+								}
+								pendingPages.remove(page);
+								if (failure == null) {
+									pageLoaded(page, from, to, items);
+								} else {
+									pageFailed(page, failure);
+								}
+							}
+						});
+					}
+				});
+	}
+
+	private void pageLoaded(int page, int from, int to, List<T> items) {
+		if (items == null || items.size() != to - from) {
+			pageFailed(page, new IllegalStateException("The data source returned "
+					+ (items == null ? 0 : items.size()) + " items for the range ["
+					+ from + ", " + to + ")"));
+			return;
+		}
+		pages.put(page, items);
+		beginChange();
+		nextReplace(from, to, Collections.<T> nCopies(to - from, null));
+		endChange();
+	}
+
+	private void pageFailed(int page, Throwable exception) {
+		failedPages.add(page);
+		error.set(exception);
+	}
+}
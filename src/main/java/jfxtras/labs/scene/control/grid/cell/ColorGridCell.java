@@ -43,20 +43,23 @@ import jfxtras.labs.scene.control.grid.GridCell;
  */
 public class ColorGridCell extends GridCell<Color> {
 	
+	private final Rectangle colorRect;
+
 	public ColorGridCell() {
 		getStyleClass().add("color-grid-cell");
+		//TODO: Style Rectangle by CSS
+		colorRect = RectangleBuilder.create().stroke(Color.BLACK).build();
+		colorRect.heightProperty().bind(heightProperty());
+		colorRect.widthProperty().bind(widthProperty());
+		setGraphic(colorRect);
+
+		// the rectangle is reused when the cell gets a new item
 		itemProperty().addListener(new ChangeListener<Color>() {
 
 			@Override
 			public void changed(ObservableValue<? extends Color> arg0,
 					Color arg1, Color arg2) {
-				getChildren().clear();
-				//TODO: Style Rectangle by CSS
-				Rectangle colorRect = RectangleBuilder.create().fill(arg2)
-						.stroke(Color.BLACK).build();
-				colorRect.heightProperty().bind(heightProperty());
-				colorRect.widthProperty().bind(widthProperty());				
-				setGraphic(colorRect);
+				colorRect.setFill(arg2);
 			}
 		});
 	}
@@ -43,20 +43,23 @@ import jfxtras.labs.scene.control.grid.GridCell;
  */
 public class ImageGridCell extends GridCell<Image> {
 	
+	private final ImageView imageView;
+
 	public ImageGridCell() {
 		getStyleClass().add("image-grid-cell");
+		//TODO: Style ImageView by CSS
+		imageView = ImageViewBuilder.create().build();
+		imageView.fitHeightProperty().bind(heightProperty());
+		imageView.fitWidthProperty().bind(widthProperty());
+		setGraphic(imageView);
+
+		// the image view is reused when the cell gets a new item
 		itemProperty().addListener(new ChangeListener<Image>() {
 
 			@Override
 			public void changed(ObservableValue<? extends Image> arg0,
 					Image arg1, Image arg2) {
-				getChildren().clear();
-				//TODO: Style ImageView by CSS
-				ImageView imageView = ImageViewBuilder.create().image(arg2).build();
-				imageView.fitHeightProperty().bind(heightProperty());
-				imageView.fitWidthProperty().bind(widthProperty());
-				
-				setGraphic(imageView);
+				imageView.setImage(arg2);
 			}
 		});
 	}
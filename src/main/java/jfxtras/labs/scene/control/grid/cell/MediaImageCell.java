@@ -29,43 +29,200 @@
 
 package jfxtras.labs.scene.control.grid.cell;
 
+import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.ImageViewBuilder;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import javafx.scene.media.MediaPlayerBuilder;
 import javafx.scene.media.MediaView;
 import javafx.scene.media.MediaViewBuilder;
 import jfxtras.labs.scene.control.grid.GridCell;
+import jfxtras.labs.util.ImageCache;
 
 /**
+ * A cell that plays a {@link Media}. A cell only holds a
+ * {@link MediaPlayer} while it is playing or paused, and the number of such
+ * cells is limited by a {@link MediaPlayerPool}. A cell that is not playing
+ * shows the poster frame of its media, which is kept in an
+ * {@link ImageCache}. The poster frame is captured when the playback is
+ * stopped. If there is none yet when the item is assigned, the first frame
+ * is decoded with a short-lived player from the pool, which the cell shows
+ * until the poster frame has been captured.
  * 
  * @author Hendrik Ebbers
  * 
  */
 public class MediaImageCell extends GridCell<Media> {
 	
+	private final MediaPlayerPool playerPool;
+
+	private final ImageCache posterCache;
+
 	private MediaPlayer mediaPlayer;
+
+	private MediaPlayer posterPlayer;
 	
+	private final MediaView mediaView;
+
+	private final ImageView posterView;
+
+	/**
+	 * Creates a cell that uses the {@link MediaPlayerPool#getDefault() default
+	 * player pool} and the {@link ImageCache#getDefault() default image cache}
+	 * for its poster frames.
+	 */
 	public MediaImageCell() {
+		this(MediaPlayerPool.getDefault(), ImageCache.getDefault());
+	}
+
+	/**
+	 * @param playerPool
+	 *            the pool that limits the number of live players
+	 * @param posterCache
+	 *            the cache for the poster frames
+	 */
+	public MediaImageCell(MediaPlayerPool playerPool, ImageCache posterCache) {
+		this.playerPool = playerPool;
+		this.posterCache = posterCache;
 		getStyleClass().add("media-grid-cell");
+		mediaView = MediaViewBuilder.create().build();
+		mediaView.fitHeightProperty().bind(heightProperty());
+		mediaView.fitWidthProperty().bind(widthProperty());
+		posterView = ImageViewBuilder.create().build();
+		posterView.fitHeightProperty().bind(heightProperty());
+		posterView.fitWidthProperty().bind(widthProperty());
+		setGraphic(posterView);
+
 		itemProperty().addListener(new ChangeListener<Media>() {
 
 			@Override
 			public void changed(ObservableValue<? extends Media> arg0,
 					Media arg1, Media arg2) {
-				getChildren().clear();
-				if(mediaPlayer != null) {
-					mediaPlayer.stop();
+				disposeMediaPlayer();
+				cancelPosterDecoding();
+				showPoster();
+			}
+		});
+	}
+
+	/**
+	 * Disposes the player of the current media so the native resources are
+	 * freed while the cell waits in the pool.
+	 */
+	@Override
+	public void recycle() {
+		disposeMediaPlayer();
+		cancelPosterDecoding();
+		super.recycle();
+	}
+
+	private void disposeMediaPlayer() {
+		if(mediaPlayer != null) {
+			playerPool.release(this);
+			mediaView.setMediaPlayer(null);
+			mediaPlayer.dispose();
+			mediaPlayer = null;
+		}
+	}
+
+	private void showPoster() {
+		Media media = getItem();
+		Image poster = media == null ? null : posterCache.get(posterKey(media));
+		posterView.setImage(poster);
+		if(media != null && poster == null) {
+			// the live media view shows the first frame while it is decoded
+			setGraphic(mediaView);
+			playerPool.requestPoster(this);
+		} else {
+			setGraphic(posterView);
+		}
+	}
+
+	/**
+	 * Called by the pool when it is this cell's turn to decode the poster
+	 * frame of its media. Opens a muted player, captures the first frame as
+	 * soon as it is shown and disposes the player again.
+	 */
+	void decodePoster() {
+		if(getItem() == null) {
+			playerPool.posterDecoded(this);
+			return;
+		}
+		final MediaPlayer player = MediaPlayerBuilder.create().media(getItem()).mute(true).build();
+		posterPlayer = player;
+		mediaView.setMediaPlayer(player);
+		player.setOnReady(new Runnable() {
+
+			@Override
+			public void run() {
+				// give the media view a pulse to show the first frame
+				Platform.runLater(new Runnable() {
+
+					@Override
+					public void run() {
+						if(posterPlayer == player) {
+							capturePoster();
+							finishPosterDecoding();
+						}
+					}
+				});
+			}
+		});
+		player.setOnError(new Runnable() {
+
+			@Override
+			public void run() {
+				if(posterPlayer == player) {
+					finishPosterDecoding();
 				}
-				mediaPlayer = MediaPlayerBuilder.create().media(arg2).build();
-				MediaView mediaView = MediaViewBuilder.create().mediaPlayer(mediaPlayer).build();
-				mediaView.fitHeightProperty().bind(heightProperty());
-				mediaView.fitWidthProperty().bind(widthProperty());
-				setGraphic(mediaView);
 			}
 		});
 	}
+
+	private void finishPosterDecoding() {
+		disposePosterPlayer();
+		playerPool.posterDecoded(this);
+		// no new request if the capture failed, the next item tries again
+		Media media = getItem();
+		posterView.setImage(media == null ? null : posterCache.get(posterKey(media)));
+		setGraphic(posterView);
+	}
+
+	private void cancelPosterDecoding() {
+		playerPool.cancelPoster(this);
+		disposePosterPlayer();
+	}
+
+	private void disposePosterPlayer() {
+		if(posterPlayer != null) {
+			if(mediaView.getMediaPlayer() == posterPlayer) {
+				mediaView.setMediaPlayer(null);
+			}
+			posterPlayer.dispose();
+			posterPlayer = null;
+		}
+	}
+
+	private void capturePoster() {
+		if(getItem() != null && mediaView.getScene() != null) {
+			posterCache.put(posterKey(getItem()), mediaView.snapshot(null, null));
+		}
+	}
+
+	private static String posterKey(Media media) {
+		return media.getSource() + "#poster";
+	}
+
+	/**
+	 * @return <code>true</code> if the cell currently holds a player
+	 */
+	public boolean isPlayerActive() {
+		return mediaPlayer != null;
+	}
 	
 	public void pause() {
 		if(mediaPlayer != null) {
@@ -73,15 +230,33 @@ public class MediaImageCell extends GridCell<Media> {
 		}
 	}
 	
+	/**
+	 * Starts playing the media. The player is created on demand; if the pool
+	 * is full, the cell that has been playing the longest is stopped.
+	 */
 	public void play() {
-		if(mediaPlayer != null) {
-			mediaPlayer.play();
+		if(getItem() == null) {
+			return;
+		}
+		if(mediaPlayer == null) {
+			cancelPosterDecoding();
+			playerPool.acquire(this);
+			mediaPlayer = MediaPlayerBuilder.create().media(getItem()).build();
+			mediaView.setMediaPlayer(mediaPlayer);
+			setGraphic(mediaView);
 		}
+		mediaPlayer.play();
 	}
 	
+	/**
+	 * Stops the playback, keeps the current frame as poster and disposes the
+	 * player.
+	 */
 	public void stop() {
 		if(mediaPlayer != null) {
-			mediaPlayer.stop();
+			capturePoster();
+			disposeMediaPlayer();
+			showPoster();
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,212 @@
+/**
+ * MediaPlayerPool.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control.grid.cell;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Limits the number of {@link MediaImageCell}s that hold a live
+ * {@link javafx.scene.media.MediaPlayer} at the same time. If a cell starts
+ * playing while the limit is reached, the cell that started playing first is
+ * stopped, which disposes its player and shows its poster frame instead.
+ * 
+ * Cells without a cached poster frame decode it with a short-lived player.
+ * These requests are queued and only a few of them run at the same time, so
+ * scrolling through a grid of new media does not open a player per cell.
+ * 
+ * The pool is not thread safe and must only be used on the JavaFX
+ * application thread, like the media players themselves.
+ */
+public class MediaPlayerPool {
+
+	/**
+	 * The limit of the {@link #getDefault() default pool}
+	 */
+	public static final int DEFAULT_MAX_PLAYERS = 4;
+
+	/**
+	 * The number of poster frames that are decoded at the same time, unless
+	 * the pool is created with another limit
+	 */
+	public static final int DEFAULT_MAX_POSTER_DECODERS = 2;
+
+	private static MediaPlayerPool defaultPool;
+
+	private final int maxPlayers;
+
+	private final int maxPosterDecoders;
+
+	private final Deque<MediaImageCell> activeCells = new ArrayDeque<>();
+
+	private final Deque<MediaImageCell> posterQueue = new ArrayDeque<>();
+
+	private final Deque<MediaImageCell> decodingCells = new ArrayDeque<>();
+
+	/**
+	 * @param maxPlayers
+	 *            the maximum number of cells with a live player
+	 */
+	public MediaPlayerPool(int maxPlayers) {
+		this(maxPlayers, DEFAULT_MAX_POSTER_DECODERS);
+	}
+
+	/**
+	 * @param maxPlayers
+	 *            the maximum number of cells with a live player
+	 * @param maxPosterDecoders
+	 *            the maximum number of poster frames that are decoded at the
+	 *            same time
+	 */
+	public MediaPlayerPool(int maxPlayers, int maxPosterDecoders) {
+		if (maxPlayers < 1) {
+			throw new IllegalArgumentException("maxPlayers must be at least 1: " + maxPlayers);
+		}
+		if (maxPosterDecoders < 1) {
+			throw new IllegalArgumentException("maxPosterDecoders must be at least 1: " + maxPosterDecoders);
+		}
+		this.maxPlayers = maxPlayers;
+		this.maxPosterDecoders = maxPosterDecoders;
+	}
+
+	/**
+	 * @return the pool that is shared by all cells that are not given their
+	 *         own pool; it allows {@link #DEFAULT_MAX_PLAYERS} players
+	 */
+	public static MediaPlayerPool getDefault() {
+		if (defaultPool == null) {
+			defaultPool = new MediaPlayerPool(DEFAULT_MAX_PLAYERS);
+		}
+		return defaultPool;
+	}
+
+	/**
+	 * Registers a cell that is about to create a player. Stops the cells that
+	 * have been playing the longest until there is room for the new one.
+	 * 
+	 * @param cell
+	 *            the cell that wants to play
+	 */
+	void acquire(MediaImageCell cell) {
+		activeCells.remove(cell);
+		while (activeCells.size() >= maxPlayers) {
+			activeCells.pollFirst().stop();
+		}
+		activeCells.addLast(cell);
+	}
+
+	/**
+	 * Unregisters a cell that has disposed its player.
+	 * 
+	 * @param cell
+	 *            the cell
+	 */
+	void release(MediaImageCell cell) {
+		activeCells.remove(cell);
+	}
+
+	/**
+	 * Queues a cell that needs its poster frame decoded. The cell's
+	 * {@link MediaImageCell#decodePoster()} is called as soon as one of the
+	 * decoders is free.
+	 * 
+	 * @param cell
+	 *            the cell without a poster frame
+	 */
+	void requestPoster(MediaImageCell cell) {
+		if (posterQueue.contains(cell) || decodingCells.contains(cell)) {
+			return;
+		}
+		posterQueue.addLast(cell);
+		startPosterDecoders();
+	}
+
+	/**
+	 * Removes a cell from the poster queue, or frees its decoder if it is
+	 * decoding.
+	 * 
+	 * @param cell
+	 *            the cell
+	 */
+	void cancelPoster(MediaImageCell cell) {
+		posterQueue.remove(cell);
+		if (decodingCells.remove(cell)) {
+			startPosterDecoders();
+		}
+	}
+
+	/**
+	 * Frees the decoder of a cell that has finished decoding its poster
+	 * frame, successfully or not.
+	 * 
+	 * @param cell
+	 *            the cell
+	 */
+	void posterDecoded(MediaImageCell cell) {
+		cancelPoster(cell);
+	}
+
+	private void startPosterDecoders() {
+		while (decodingCells.size() < maxPosterDecoders && !posterQueue.isEmpty()) {
+			MediaImageCell cell = posterQueue.pollFirst();
+			decodingCells.addLast(cell);
+			cell.decodePoster();
+		}
+	}
+
+	/**
+	 * @return the number of cells that currently hold a player
+	 */
+	public int getActiveCount() {
+		return activeCells.size();
+	}
+
+	/**
+	 * @return the maximum number of cells with a live player
+	 */
+	public int getMaxPlayers() {
+		return maxPlayers;
+	}
+
+	/**
+	 * @return the number of cells that are currently decoding a poster frame
+	 */
+	public int getDecodingCount() {
+		return decodingCells.size();
+	}
+
+	/**
+	 * @return the maximum number of poster frames that are decoded at the
+	 *         same time
+	 */
+	public int getMaxPosterDecoders() {
+		return maxPosterDecoders;
+	}
+}
@@ -0,0 +1,193 @@
+/**
+ * UrlImageGridCell.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control.grid.cell;
+
+import java.io.File;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import jfxtras.labs.scene.control.grid.GridCell;
+import jfxtras.labs.util.ImageCache;
+
+/**
+ * A cell that shows the image behind a URL or a file path. The image is
+ * decoded in the background at the requested size, so a large photo only
+ * needs the memory of a thumbnail, and a placeholder is shown until it is
+ * ready. Decoded images are kept in an {@link ImageCache}, so scrolling back
+ * to an image does not decode it again.
+ * 
+ * <pre>
+ * gridView.setCellFactory(new Callback&lt;GridView&lt;String&gt;, GridCell&lt;String&gt;&gt;() {
+ * 	public GridCell&lt;String&gt; call(GridView&lt;String&gt; gridView) {
+ * 		return new UrlImageGridCell(gridView.getCellWidth(), gridView.getCellHeight());
+ * 	}
+ * });
+ * </pre>
+ */
+public class UrlImageGridCell extends GridCell<String> {
+
+	private final ImageCache cache;
+
+	private final Image placeholder;
+
+	private final double requestedWidth;
+
+	private final double requestedHeight;
+
+	private final ImageView imageView;
+
+	/**
+	 * The image that is currently loading in the background
+	 */
+	private Image loadingImage;
+
+	private String loadingKey;
+
+	private final ChangeListener<Number> progressListener = new ChangeListener<Number>() {
+
+		@Override
+		public void changed(ObservableValue<? extends Number> arg0,
+				Number arg1, Number arg2) {
+			if (arg2.doubleValue() >= 1.0) {
+				loaded();
+			}
+		}
+	};
+
+	/**
+	 * Creates a cell that uses the {@link ImageCache#getDefault() default
+	 * cache} and shows no placeholder.
+	 * 
+	 * @param requestedWidth
+	 *            the width the images are decoded at
+	 * @param requestedHeight
+	 *            the height the images are decoded at
+	 */
+	public UrlImageGridCell(double requestedWidth, double requestedHeight) {
+		this(ImageCache.getDefault(), null, requestedWidth, requestedHeight);
+	}
+
+	/**
+	 * @param cache
+	 *            the cache for decoded images, usually shared by all cells of
+	 *            a grid
+	 * @param placeholder
+	 *            the image that is shown while an image is loading or if it
+	 *            can't be loaded; may be <code>null</code>
+	 * @param requestedWidth
+	 *            the width the images are decoded at
+	 * @param requestedHeight
+	 *            the height the images are decoded at
+	 */
+	public UrlImageGridCell(ImageCache cache, Image placeholder,
+			double requestedWidth, double requestedHeight) {
+		this.cache = cache;
+		this.placeholder = placeholder;
+		this.requestedWidth = requestedWidth;
+		this.requestedHeight = requestedHeight;
+		getStyleClass().add("image-grid-cell");
+		imageView = new ImageView();
+		imageView.setPreserveRatio(true);
+		imageView.fitHeightProperty().bind(heightProperty());
+		imageView.fitWidthProperty().bind(widthProperty());
+		setGraphic(imageView);
+
+		itemProperty().addListener(new ChangeListener<String>() {
+
+			@Override
+			public void changed(ObservableValue<? extends String> arg0,
+					String arg1, String arg2) {
+				load(arg2);
+			}
+		});
+	}
+
+	private void load(String location) {
+		cancelLoading();
+		if (location == null) {
+			imageView.setImage(null);
+			return;
+		}
+		String url = toUrl(location);
+		String key = url + "@" + requestedWidth + "x" + requestedHeight;
+		Image image = cache.get(key);
+		if (image != null) {
+			imageView.setImage(image);
+			return;
+		}
+		imageView.setImage(placeholder);
+		loadingKey = key;
+		loadingImage = new Image(url, requestedWidth, requestedHeight, true,
+				true, true);
+		loadingImage.progressProperty().addListener(progressListener);
+		if (loadingImage.getProgress() >= 1.0) {
+			loaded();
+		}
+	}
+
+	private void loaded() {
+		Image image = loadingImage;
+		String key = loadingKey;
+		image.progressProperty().removeListener(progressListener);
+		loadingImage = null;
+		loadingKey = null;
+		if (!image.isError()) {
+			cache.put(key, image);
+			imageView.setImage(image);
+		}
+	}
+
+	private void cancelLoading() {
+		if (loadingImage != null) {
+			loadingImage.progressProperty().removeListener(progressListener);
+			loadingImage.cancel();
+			loadingImage = null;
+			loadingKey = null;
+		}
+	}
+
+	/**
+	 * Stops loading the image of the current item.
+	 */
+	@Override
+	public void recycle() {
+		cancelLoading();
+		super.recycle();
+	}
+
+	private static String toUrl(String location) {
+		if (location.indexOf(':') > 1) {
+			return location;
+		}
+		return new File(location).toURI().toString();
+	}
+}
@@ -0,0 +1,307 @@
+/**
+ * ArgbColor.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import javafx.scene.paint.Color;
+
+
+/**
+ * Color math on colors packed into ARGB ints (alpha in the highest byte,
+ * blue in the lowest) or on caller provided arrays, so that pixel loops do
+ * not need to allocate Color objects. Unless noted otherwise the channels
+ * are not premultiplied with alpha.
+ */
+public final class ArgbColor {
+
+    private ArgbColor() {
+    }
+
+
+    // ******************** Packing *******************************************
+    public static int argb(final int ALPHA, final int RED, final int GREEN, final int BLUE) {
+        return (clamp(ALPHA) << 24) | (clamp(RED) << 16) | (clamp(GREEN) << 8) | clamp(BLUE);
+    }
+
+    /**
+     * Packs channels in the range of 0 - 1 like Color uses them.
+     */
+    public static int fromRgb(final double RED, final double GREEN, final double BLUE, final double OPACITY) {
+        return argb((int) Math.round(clamp(OPACITY) * 255),
+                    (int) Math.round(clamp(RED) * 255),
+                    (int) Math.round(clamp(GREEN) * 255),
+                    (int) Math.round(clamp(BLUE) * 255));
+    }
+
+    public static int fromColor(final Color COLOR) {
+        return fromRgb(COLOR.getRed(), COLOR.getGreen(), COLOR.getBlue(), COLOR.getOpacity());
+    }
+
+    public static Color toColor(final int ARGB) {
+        return Color.rgb(red(ARGB), green(ARGB), blue(ARGB), alpha(ARGB) / 255.0);
+    }
+
+    public static int alpha(final int ARGB) {
+        return ARGB >>> 24;
+    }
+
+    public static int red(final int ARGB) {
+        return (ARGB >> 16) & 0xff;
+    }
+
+    public static int green(final int ARGB) {
+        return (ARGB >> 8) & 0xff;
+    }
+
+    public static int blue(final int ARGB) {
+        return ARGB & 0xff;
+    }
+
+
+    // ******************** Clamping ******************************************
+    /**
+     * @return the value clamped to the range of a channel, 0 - 255
+     */
+    public static int clamp(final int VALUE) {
+        return VALUE < 0 ? 0 : (VALUE > 255 ? 255 : VALUE);
+    }
+
+    /**
+     * @return the value clamped to 0 - 1, NaN becomes 0
+     */
+    public static double clamp(final double VALUE) {
+        return VALUE > 1 ? 1 : (VALUE > 0 ? VALUE : 0);
+    }
+
+
+    // ******************** Interpolation *************************************
+    /**
+     * Interpolates every channel linearly like Color.interpolate() does. The
+     * fraction is clamped to 0 - 1.
+     */
+    public static int interpolate(final int FROM, final int TO, final double FRACTION) {
+        final double F = clamp(FRACTION);
+        return argb(alpha(FROM) + (int) Math.round((alpha(TO) - alpha(FROM)) * F),
+                    red(FROM) + (int) Math.round((red(TO) - red(FROM)) * F),
+                    green(FROM) + (int) Math.round((green(TO) - green(FROM)) * F),
+                    blue(FROM) + (int) Math.round((blue(TO) - blue(FROM)) * F));
+    }
+
+    /**
+     * Interpolates between the upper left, upper right, lower left and lower
+     * right color.
+     */
+    public static int biLinearInterpolate(final int UL, final int UR, final int LL, final int LR, final double FRACTION_X, final double FRACTION_Y) {
+        return interpolate(interpolate(UL, UR, FRACTION_X), interpolate(LL, LR, FRACTION_X), FRACTION_Y);
+    }
+
+    /**
+     * Interpolates two colors given as { red, green, blue, opacity } arrays
+     * with channels in the range of 0 - 1 and stores the result in OUT,
+     * which may be one of the inputs. The fraction is clamped to 0 - 1.
+     */
+    public static void interpolate(final double[] FROM, final double[] TO, final double FRACTION, final double[] OUT) {
+        for (int i = 0; i < 4; i++) {
+            OUT[i] = interpolateChannel(FROM[i], TO[i], FRACTION);
+        }
+    }
+
+    /**
+     * Interpolates a single channel in the range of 0 - 1. The fraction is
+     * clamped to 0 - 1.
+     */
+    public static double interpolateChannel(final double FROM, final double TO, final double FRACTION) {
+        return clamp(FROM + (TO - FROM) * clamp(FRACTION));
+    }
+
+    /**
+     * Interpolates a single channel in the range of 0 - 1 between the upper
+     * left, upper right, lower left and lower right value.
+     */
+    public static double biLinearInterpolateChannel(final double UL, final double UR, final double LL, final double LR, final double FRACTION_X, final double FRACTION_Y) {
+        return interpolateChannel(interpolateChannel(UL, UR, FRACTION_X), interpolateChannel(LL, LR, FRACTION_X), FRACTION_Y);
+    }
+
+
+    // ******************** Brightness ****************************************
+    /**
+     * Multiplies red, green and blue with (1 - FRACTION), keeps the alpha.
+     */
+    public static int darker(final int ARGB, final double FRACTION) {
+        return scale(ARGB, 1.0 - FRACTION);
+    }
+
+    /**
+     * Multiplies red, green and blue with (1 + FRACTION), keeps the alpha.
+     */
+    public static int brighter(final int ARGB, final double FRACTION) {
+        return scale(ARGB, 1.0 + FRACTION);
+    }
+
+    /**
+     * @return the channel (0 - 1) multiplied with (1 - FRACTION)
+     */
+    public static double darkerChannel(final double CHANNEL, final double FRACTION) {
+        return clamp(CHANNEL * (1.0 - FRACTION));
+    }
+
+    /**
+     * @return the channel (0 - 1) multiplied with (1 + FRACTION)
+     */
+    public static double brighterChannel(final double CHANNEL, final double FRACTION) {
+        return clamp(CHANNEL * (1.0 + FRACTION));
+    }
+
+    private static int scale(final int ARGB, final double FACTOR) {
+        return (ARGB & 0xff000000) |
+               (clamp((int) Math.round(red(ARGB) * FACTOR)) << 16) |
+               (clamp((int) Math.round(green(ARGB) * FACTOR)) << 8) |
+                clamp((int) Math.round(blue(ARGB) * FACTOR));
+    }
+
+
+    // ******************** Premultiplication *********************************
+    public static int premultiply(final int ARGB) {
+        final int A = alpha(ARGB);
+        if (A == 255) {
+            return ARGB;
+        }
+        return (A << 24) | (((red(ARGB) * A + 127) / 255) << 16) | (((green(ARGB) * A + 127) / 255) << 8) | ((blue(ARGB) * A + 127) / 255);
+    }
+
+    public static int unpremultiply(final int ARGB) {
+        final int A = alpha(ARGB);
+        if (A == 255 || A == 0) {
+            return A == 0 ? 0 : ARGB;
+        }
+        return argb(A, (red(ARGB) * 255 + A / 2) / A, (green(ARGB) * 255 + A / 2) / A, (blue(ARGB) * 255 + A / 2) / A);
+    }
+
+
+    // ******************** HSL ***********************************************
+    /**
+     * Converts a hue (degrees), saturation and luminance (0 - 1) to red, green
+     * and blue (0 - 1) and stores them in RGB_OUT[0..2].
+     */
+    public static void hslToRgb(final double HUE, final double SATURATION, final double LUMINANCE, final double[] RGB_OUT) {
+        final double NORMALIZED_HUE = (((HUE % 360) + 360) % 360) / 360;
+        final double Q              = hslQ(SATURATION, LUMINANCE);
+        final double P              = 2 * LUMINANCE - Q;
+        RGB_OUT[0] = Math.max(0, hueToRgb(P, Q, NORMALIZED_HUE + (1.0f / 3.0f)));
+        RGB_OUT[1] = Math.max(0, hueToRgb(P, Q, NORMALIZED_HUE));
+        RGB_OUT[2] = Math.max(0, hueToRgb(P, Q, NORMALIZED_HUE - (1.0f / 3.0f)));
+    }
+
+    /**
+     * Like {@link #hslToRgb(double, double, double, double[])}, but returns
+     * the color packed with the given alpha (0 - 255).
+     */
+    public static int hslToArgb(final double HUE, final double SATURATION, final double LUMINANCE, final int ALPHA) {
+        final double NORMALIZED_HUE = (((HUE % 360) + 360) % 360) / 360;
+        final double Q              = hslQ(SATURATION, LUMINANCE);
+        final double P              = 2 * LUMINANCE - Q;
+        return (clamp(ALPHA) << 24) | (fromRgb(hueToRgb(P, Q, NORMALIZED_HUE + (1.0f / 3.0f)),
+                                               hueToRgb(P, Q, NORMALIZED_HUE),
+                                               hueToRgb(P, Q, NORMALIZED_HUE - (1.0f / 3.0f)), 0) & 0x00ffffff);
+    }
+
+    /**
+     * Converts red, green and blue (0 - 1) to hue (degrees), saturation and
+     * luminance (0 - 1) and stores them in HSL_OUT[0..2].
+     */
+    public static void rgbToHsl(final double RED, final double GREEN, final double BLUE, final double[] HSL_OUT) {
+        //  Minimum and Maximum RGB values are used in the HSL calculations
+        final double MIN = Math.min(RED, Math.min(GREEN, BLUE));
+        final double MAX = Math.max(RED, Math.max(GREEN, BLUE));
+
+        //  Calculate the Hue
+        double hue = 0;
+        if (MAX == MIN) {
+            hue = 0;
+        } else if (MAX == RED) {
+            hue = (( (GREEN - BLUE) / (MAX - MIN) / 6.0) + 1) % 1;
+        } else if (MAX == GREEN) {
+            hue = ( (BLUE - RED) / (MAX - MIN) / 6.0) + 1.0 / 3.0;
+        } else if (MAX == BLUE) {
+            hue = ( (RED - GREEN) / (MAX - MIN) / 6.0) + 2.0 / 3.0;
+        }
+        hue *= 360;
+
+        //  Calculate the Luminance
+        final double LUMINANCE = (MAX + MIN) / 2;
+
+        //  Calculate the Saturation
+        final double SATURATION;
+        if (Double.compare(MAX, MIN) == 0) {
+            SATURATION = 0;
+        } else if (LUMINANCE <= 0.5) {
+            SATURATION = (MAX - MIN) / (MAX + MIN);
+        } else {
+            SATURATION = (MAX - MIN) / (2 - MAX - MIN);
+        }
+
+        HSL_OUT[0] = hue;
+        HSL_OUT[1] = SATURATION;
+        HSL_OUT[2] = LUMINANCE;
+    }
+
+    /**
+     * Like {@link #rgbToHsl(double, double, double, double[])}, but takes a
+     * packed color.
+     */
+    public static void argbToHsl(final int ARGB, final double[] HSL_OUT) {
+        rgbToHsl(red(ARGB) / 255.0, green(ARGB) / 255.0, blue(ARGB) / 255.0, HSL_OUT);
+    }
+
+    private static double hslQ(final double SATURATION, final double LUMINANCE) {
+        if (LUMINANCE < 0.5) {
+            return LUMINANCE * (1 + SATURATION);
+        }
+        return (LUMINANCE + SATURATION) - (SATURATION * LUMINANCE);
+    }
+
+    private static double hueToRgb(final double P, final double Q, double hue) {
+        if (hue < 0) {
+            hue += 1;
+        }
+        if (hue > 1 ) {
+            hue -= 1;
+        }
+        if (6 * hue < 1) {
+            return P + ((Q - P) * 6 * hue);
+        }
+        if (2 * hue < 1 ) {
+            return  Q;
+        }
+        if (3 * hue < 2) {
+            return P + ( (Q - P) * 6 * ((2.0 / 3.0) - hue) );
+        }
+        return P;
+    }
+}
@@ -0,0 +1,193 @@
+/**
+ * AsyncPaintGenerator.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.shape.Shape;
+
+
+/**
+ * Fills shapes with generated textures without blocking the FX thread.
+ * The pixels are computed on a background thread and only the finished
+ * int[] is uploaded into an image on the FX thread. Until then the shape is
+ * filled with a preview that is computed at PREVIEW_SCALE of the size.
+ * A new request for a shape cancels the request that is still pending for
+ * it, so a storm of resizes only computes the texture for the last size.
+ * Requests with a key are looked up in the default {@link PaintCache} first
+ * and their finished textures are put into it.
+ */
+public class AsyncPaintGenerator {
+    public static final double PREVIEW_SCALE = 0.25;
+    private static final ExecutorService           EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override public Thread newThread(final Runnable RUNNABLE) {
+            final Thread THREAD = new Thread(RUNNABLE, "AsyncPaintGenerator");
+            THREAD.setDaemon(true);
+            return THREAD;
+        }
+    });
+    private static final Map<Shape, CompletableFuture<ImagePattern>> PENDING = new WeakHashMap<Shape, CompletableFuture<ImagePattern>>();
+
+
+    // ******************** Inner Interfaces **********************************
+    /**
+     * Computes the pixels of a texture.
+     */
+    public interface PixelSource {
+        /**
+         * Called twice per request: on the FX thread for the small preview,
+         * while {@link AsyncPaintGenerator#fill(Shape, PixelSource) fill()}
+         * runs, and on a background thread for the full size texture. So
+         * implementations must not touch any JavaFX state and must not read
+         * state that the FX thread may change in the meantime; capture such
+         * state when the request is made.
+         *
+         * @return the non-premultiplied ARGB pixels of a WIDTH x HEIGHT
+         *         texture, row by row
+         */
+        int[] createPixels(final int WIDTH, final int HEIGHT);
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Fills the shape with a preview of the texture right away and with the
+     * full texture once it is computed. Must be called on the FX thread. The
+     * preview is computed by the SOURCE on the calling thread, the full
+     * texture on a background thread.
+     *
+     * @return completes with the final paint after it has been set on the
+     *         shape; is cancelled if a newer request for the shape replaces it
+     */
+    public static CompletableFuture<ImagePattern> fill(final Shape SHAPE, final PixelSource SOURCE) {
+        return fill(SHAPE, SOURCE, EXECUTOR);
+    }
+
+    /**
+     * Like {@link #fill(Shape, PixelSource)}, but computes the pixels with
+     * the given executor.
+     */
+    public static CompletableFuture<ImagePattern> fill(final Shape SHAPE, final PixelSource SOURCE, final Executor EXECUTOR) {
+        return fill(SHAPE, null, SOURCE, EXECUTOR);
+    }
+
+    /**
+     * Like {@link #fill(Shape, PixelSource)}, but fills the shape with the
+     * texture that is cached under the given key in the default
+     * {@link PaintCache} right away if there is one. Otherwise the computed
+     * texture is put into the cache under that key.
+     *
+     * @param KEY the {@link PaintCache#key(String, double, double, Object...)}
+     *            of the texture at the size of the shape
+     */
+    public static CompletableFuture<ImagePattern> fill(final Shape SHAPE, final String KEY, final PixelSource SOURCE) {
+        return fill(SHAPE, KEY, SOURCE, EXECUTOR);
+    }
+
+    /**
+     * Like {@link #fill(Shape, String, PixelSource)}, but computes the pixels
+     * with the given executor.
+     */
+    public static CompletableFuture<ImagePattern> fill(final Shape SHAPE, final String KEY, final PixelSource SOURCE, final Executor EXECUTOR) {
+        final CompletableFuture<ImagePattern> PREVIOUS = PENDING.remove(SHAPE);
+        if (PREVIOUS != null) {
+            PREVIOUS.cancel(false);
+        }
+
+        final double X      = SHAPE.getLayoutBounds().getMinX();
+        final double Y      = SHAPE.getLayoutBounds().getMinY();
+        final double WIDTH  = SHAPE.getLayoutBounds().getWidth();
+        final double HEIGHT = SHAPE.getLayoutBounds().getHeight();
+        final Image  CACHED = KEY == null ? null : PaintCache.getDefault().get(KEY);
+        if (CACHED != null) {
+            final ImagePattern PATTERN = new ImagePattern(CACHED, X, Y, WIDTH, HEIGHT, false);
+            SHAPE.setFill(PATTERN);
+            return CompletableFuture.completedFuture(PATTERN);
+        }
+        final int    IMAGE_WIDTH    = Math.max(1, (int) WIDTH);
+        final int    IMAGE_HEIGHT   = Math.max(1, (int) HEIGHT);
+        final int    PREVIEW_WIDTH  = Math.max(1, (int) Math.ceil(IMAGE_WIDTH * PREVIEW_SCALE));
+        final int    PREVIEW_HEIGHT = Math.max(1, (int) Math.ceil(IMAGE_HEIGHT * PREVIEW_SCALE));
+
+        // the preview is stretched over the shape by the pattern
+        SHAPE.setFill(createPattern(SOURCE.createPixels(PREVIEW_WIDTH, PREVIEW_HEIGHT), PREVIEW_WIDTH, PREVIEW_HEIGHT, X, Y, WIDTH, HEIGHT));
+
+        final CompletableFuture<ImagePattern> RESULT = new CompletableFuture<ImagePattern>();
+        PENDING.put(SHAPE, RESULT);
+        EXECUTOR.execute(new Runnable() {
+            @Override public void run() {
+                if (RESULT.isDone()) {
+                    return;
+                }
+                final int[] PIXELS;
+                try {
+                    PIXELS = SOURCE.createPixels(IMAGE_WIDTH, IMAGE_HEIGHT);
+                } catch (Throwable t) {
+                    RESULT.completeExceptionally(t);
+                    return;
+                }
+                Platform.runLater(new Runnable() {
+                    @Override public void run() {
+                        if (RESULT.isDone()) {
+                            return;
+                        }
+                        final ImagePattern PATTERN = createPattern(PIXELS, IMAGE_WIDTH, IMAGE_HEIGHT, X, Y, WIDTH, HEIGHT);
+                        if (KEY != null) {
+                            PaintCache.getDefault().put(KEY, PATTERN.getImage());
+                        }
+                        SHAPE.setFill(PATTERN);
+                        if (PENDING.get(SHAPE) == RESULT) {
+                            PENDING.remove(SHAPE);
+                        }
+                        RESULT.complete(PATTERN);
+                    }
+                });
+            }
+        });
+        return RESULT;
+    }
+
+    private static ImagePattern createPattern(final int[] PIXELS, final int IMAGE_WIDTH, final int IMAGE_HEIGHT, final double X, final double Y, final double WIDTH, final double HEIGHT) {
+        final WritableImage IMAGE = new WritableImage(IMAGE_WIDTH, IMAGE_HEIGHT);
+        IMAGE.getPixelWriter().setPixels(0, 0, IMAGE_WIDTH, IMAGE_HEIGHT, PixelFormat.getIntArgbInstance(), PIXELS, 0, IMAGE_WIDTH);
+        return new ImagePattern(IMAGE, X, Y, WIDTH, HEIGHT, false);
+    }
+}
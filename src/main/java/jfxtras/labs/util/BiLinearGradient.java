@@ -29,8 +29,10 @@
 
 package jfxtras.labs.util;
 
-import javafx.animation.Interpolator;
+import java.util.concurrent.CompletableFuture;
+
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
@@ -45,6 +47,9 @@ import javafx.scene.shape.Shape;
  * Time: 08:13
  */
 public class BiLinearGradient {
+    private static final int SHIFT = 16;
+    private static final int ONE   = 1 << SHIFT;
+    private static final int HALF  = ONE >> 1;
     private final Color COLOR_00;
     private final Color COLOR_10;
     private final Color COLOR_01;
@@ -61,33 +66,28 @@ public class BiLinearGradient {
 
 
     // ******************** Methods *******************************************
-    private Color biLinearInterpolateColor(final Color COL_00, final Color COL_10, final Color COL_01, final Color COL_11, final double FRAC_X, final double FRAC_Y) {
-        final Color INTERPOLATED_COLOR_X1 = (Color) Interpolator.LINEAR.interpolate(COL_00, COL_10, FRAC_X);
-        final Color INTERPOLATED_COLOR_X2 = (Color) Interpolator.LINEAR.interpolate(COL_01, COL_11, FRAC_X);
-        return (Color) Interpolator.LINEAR.interpolate(INTERPOLATED_COLOR_X1, INTERPOLATED_COLOR_X2, FRAC_Y);
-    }
-
     public Image getImage(final double WIDTH, final double HEIGHT) {
         int   width  = (int) WIDTH  <= 0 ? 100 : (int) WIDTH;
         int   height = (int) HEIGHT <= 0 ? 100 : (int) HEIGHT;
         final WritableImage RASTER       = new WritableImage(width, height);
         final PixelWriter   PIXEL_WRITER = RASTER.getPixelWriter();
-        final double FRACTION_STEP_X     = 1.0 / (WIDTH - 1);
-        final double FRACTION_STEP_Y     = 1.0 / (HEIGHT - 1);
-        double fractionX = 0;
-        double fractionY = 0;
+        PIXEL_WRITER.setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), getPixels(width, height), 0, width);
+        return RASTER;
+    }
 
-        for (int y = 0; y < HEIGHT ; y++) {
-            for (int x = 0 ; x < WIDTH ; x++) {
-                PIXEL_WRITER.setColor(x, y, biLinearInterpolateColor(COLOR_00, COLOR_10, COLOR_01, COLOR_11, fractionX, fractionY));
-                fractionX += FRACTION_STEP_X;
-                fractionX = fractionX > 1 ? 1 : fractionX;
+    /**
+     * Computes the non-premultiplied ARGB pixels of the gradient row by row,
+     * in parallel bands for large sizes (see {@link RowBands}). Does not
+     * touch any JavaFX state, so it may be called on any thread.
+     */
+    public int[] getPixels(final int WIDTH, final int HEIGHT) {
+        final int[] PIXELS = new int[WIDTH * HEIGHT];
+        RowBands.fill(WIDTH, HEIGHT, new RowBands.RowFiller() {
+            @Override public void fillRows(final int FROM_Y, final int TO_Y) {
+                BiLinearGradient.this.fillRows(PIXELS, WIDTH, HEIGHT, FROM_Y, TO_Y);
             }
-            fractionY += FRACTION_STEP_Y;
-            fractionY = fractionY > 1 ? 1 : fractionY;
-            fractionX = 0;
-        }
-        return RASTER;
+        });
+        return PIXELS;
     }
 
     public ImagePattern apply(final Shape SHAPE) {
@@ -97,4 +97,65 @@ public class BiLinearGradient {
         double height = SHAPE.getLayoutBounds().getHeight();
         return new ImagePattern(getImage(width, height), x, y, width, height, false);
     }
+
+    /**
+     * Like {@link #apply(Shape)}, but fills the shape itself and computes the
+     * texture in the background (see {@link AsyncPaintGenerator}).
+     */
+    public CompletableFuture<ImagePattern> applyAsync(final Shape SHAPE) {
+        return AsyncPaintGenerator.fill(SHAPE, new AsyncPaintGenerator.PixelSource() {
+            @Override public int[] createPixels(final int WIDTH, final int HEIGHT) {
+                return getPixels(WIDTH, HEIGHT);
+            }
+        });
+    }
+
+    /**
+     * Fills the rows FROM_Y (inclusive) to TO_Y (exclusive) of a pixel array.
+     * Along a row the bilinear gradient is linear, so each channel is
+     * computed from the interpolated colors of the left and right edge and
+     * then stepped from pixel to pixel in 16.16 fixed point.
+     */
+    private void fillRows(final int[] PIXELS, final int WIDTH, final int HEIGHT, final int FROM_Y, final int TO_Y) {
+        final double[] LEFT  = new double[4];
+        final double[] RIGHT = new double[4];
+        final int[]    VALUE = new int[4];
+        final int[]    STEP  = new int[4];
+        final double   FRACTION_STEP_Y = HEIGHT > 1 ? 1.0 / (HEIGHT - 1) : 0;
+        for (int y = FROM_Y ; y < TO_Y ; y++) {
+            final double FRACTION_Y = Math.min(1.0, y * FRACTION_STEP_Y);
+            interpolate(COLOR_00, COLOR_01, FRACTION_Y, LEFT);
+            interpolate(COLOR_10, COLOR_11, FRACTION_Y, RIGHT);
+            for (int c = 0 ; c < 4 ; c++) {
+                VALUE[c] = (int) Math.round(LEFT[c] * ONE) + HALF;
+                STEP[c]  = WIDTH > 1 ? (int) Math.round((RIGHT[c] - LEFT[c]) * ONE / (WIDTH - 1)) : 0;
+            }
+            final int OFFSET = y * WIDTH;
+            for (int x = 0 ; x < WIDTH ; x++) {
+                PIXELS[OFFSET + x] = clamp(VALUE[0] >> SHIFT) << 24 |
+                                     clamp(VALUE[1] >> SHIFT) << 16 |
+                                     clamp(VALUE[2] >> SHIFT) << 8  |
+                                     clamp(VALUE[3] >> SHIFT);
+                VALUE[0] += STEP[0];
+                VALUE[1] += STEP[1];
+                VALUE[2] += STEP[2];
+                VALUE[3] += STEP[3];
+            }
+        }
+    }
+
+    /**
+     * Stores the alpha, red, green and blue channel (0 - 255) of the
+     * linear interpolation between the two colors in RESULT.
+     */
+    private static void interpolate(final Color FROM, final Color TO, final double FRACTION, final double[] RESULT) {
+        RESULT[0] = 255 * (FROM.getOpacity() + (TO.getOpacity() - FROM.getOpacity()) * FRACTION);
+        RESULT[1] = 255 * (FROM.getRed() + (TO.getRed() - FROM.getRed()) * FRACTION);
+        RESULT[2] = 255 * (FROM.getGreen() + (TO.getGreen() - FROM.getGreen()) * FRACTION);
+        RESULT[3] = 255 * (FROM.getBlue() + (TO.getBlue() - FROM.getBlue()) * FRACTION);
+    }
+
+    private static int clamp(final int VALUE) {
+        return VALUE < 0 ? 0 : (VALUE > 255 ? 255 : VALUE);
+    }
 }
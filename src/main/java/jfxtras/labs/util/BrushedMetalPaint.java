@@ -29,11 +29,12 @@
 
 package jfxtras.labs.util;
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
 
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.image.PixelWriter;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.ImagePattern;
@@ -48,12 +49,16 @@ import javafx.scene.shape.Shape;
  * To change this template use File | Settings | File Templates.
  */
 public class BrushedMetalPaint {
+    /**
+     * The height of the tiles used by {@link #applyTiled(Shape)}
+     */
+    public static final int   TILE_SIZE = 128;
+    private static final long SEED      = 0;
     private int     radius;
     private double  amount;
     private int     color;
     private double  shine;
     private boolean monochrome;
-    private Random  randomNumbers;
 
 
     // ******************** Constructors **************************************
@@ -73,6 +78,14 @@ public class BrushedMetalPaint {
         shine      = SHINE;
     }
 
+    private BrushedMetalPaint(final BrushedMetalPaint PAINT) {
+        color      = PAINT.color;
+        radius     = PAINT.radius;
+        amount     = PAINT.amount;
+        monochrome = PAINT.monochrome;
+        shine      = PAINT.shine;
+    }
+
 
     // ******************** Methods *******************************************
     public Image getImage(final double W, final double H) {
@@ -80,42 +93,65 @@ public class BrushedMetalPaint {
         final int HEIGHT = (int) H;
 
         WritableImage DESTINATION = new WritableImage(WIDTH, HEIGHT);
+        DESTINATION.getPixelWriter().setPixels(0, 0, WIDTH, HEIGHT, PixelFormat.getIntArgbInstance(), getPixels(WIDTH, HEIGHT), 0, WIDTH);
+        return DESTINATION;
+    }
 
-        final int[] IN_PIXELS  = new int[WIDTH];
-        final int[] OUT_PIXELS = new int[WIDTH];
-
-        randomNumbers   = new Random(0);
-        final int ALPHA = color & 0xff000000;
-        final int RED   = (color >> 16) & 0xff;
-        final int GREEN = (color >> 8) & 0xff;
-        final int BLUE  = color & 0xff;
-        for (int y = 0; y < HEIGHT; y++) {
+    /**
+     * Computes the ARGB pixels of the texture row by row, in parallel bands
+     * for large sizes (see {@link RowBands}). Does not touch any JavaFX
+     * state, so it may be called on any thread.
+     */
+    public int[] getPixels(final int WIDTH, final int HEIGHT) {
+        // the shine only depends on x, so it is the same for every row
+        final int[] SHINE = new int[WIDTH];
+        if (shine != 0) {
             for (int x = 0; x < WIDTH; x++) {
-                int tr = RED;
-                int tg = GREEN;
-                int tb = BLUE;
-                if (shine != 0) {
-                    int f = (int) (255 * shine * Math.sin((double) x / WIDTH * Math.PI));
-                    tr += f;
-                    tg += f;
-                    tb += f;
-                }
-                if (monochrome) {
-                    int n = (int) (255 * (2 * randomNumbers.nextFloat() - 1) * amount);
-                    IN_PIXELS[x] = ALPHA | (clamp(tr + n) << 16) | (clamp(tg + n) << 8) | clamp(tb + n);
-                } else {
-                    IN_PIXELS[x] = ALPHA | (random(tr) << 16) | (random(tg) << 8) | random(tb);
+                SHINE[x] = (int) (255 * shine * Math.sin((double) x / WIDTH * Math.PI));
+            }
+        }
+
+        final int[] PIXELS = new int[WIDTH * HEIGHT];
+        RowBands.fill(WIDTH, HEIGHT, new RowBands.RowFiller() {
+            @Override public void fillRows(final int FROM_Y, final int TO_Y) {
+                final int[] IN_PIXELS  = new int[WIDTH];
+                final int[] OUT_PIXELS = new int[WIDTH];
+                for (int y = FROM_Y; y < TO_Y; y++) {
+                    fillRow(y, SHINE, IN_PIXELS, OUT_PIXELS);
+                    System.arraycopy(OUT_PIXELS, 0, PIXELS, y * WIDTH, WIDTH);
                 }
             }
+        });
+        return PIXELS;
+    }
 
-            if (radius != 0) {
-                blur(IN_PIXELS, OUT_PIXELS, WIDTH, radius);
-                setRGB(DESTINATION, 0, y, OUT_PIXELS);
+    /**
+     * Computes row Y of the texture into OUT. The noise of every row comes
+     * from its own generator seeded with the row index, so the result does
+     * not depend on the order in which the rows are computed.
+     */
+    private void fillRow(final int Y, final int[] SHINE, final int[] IN_PIXELS, final int[] OUT_PIXELS) {
+        final SplittableRandom RANDOM = new SplittableRandom(SEED + Y);
+        final int WIDTH = IN_PIXELS.length;
+        final int RED   = (color >> 16) & 0xff;
+        final int GREEN = (color >> 8) & 0xff;
+        final int BLUE  = color & 0xff;
+        for (int x = 0; x < WIDTH; x++) {
+            int tr = RED + SHINE[x];
+            int tg = GREEN + SHINE[x];
+            int tb = BLUE + SHINE[x];
+            if (monochrome) {
+                int n = (int) (255 * (2 * RANDOM.nextDouble() - 1) * amount);
+                IN_PIXELS[x] = 0xff000000 | (clamp(tr + n) << 16) | (clamp(tg + n) << 8) | clamp(tb + n);
             } else {
-                setRGB(DESTINATION, 0, y, IN_PIXELS);
+                IN_PIXELS[x] = 0xff000000 | (random(tr, RANDOM) << 16) | (random(tg, RANDOM) << 8) | random(tb, RANDOM);
             }
         }
-        return DESTINATION;
+        if (radius != 0) {
+            blur(IN_PIXELS, OUT_PIXELS, WIDTH, radius);
+        } else {
+            System.arraycopy(IN_PIXELS, 0, OUT_PIXELS, 0, WIDTH);
+        }
     }
 
     public ImageView getImageView(final double W, final double H, final Shape CLIP) {
@@ -133,6 +169,36 @@ public class BrushedMetalPaint {
         return new ImagePattern(getImage(width, height), x, y, width, height, false);
     }
 
+    /**
+     * Like {@link #apply(Shape)}, but fills the shape itself and computes the
+     * texture in the background (see {@link AsyncPaintGenerator}).
+     */
+    public CompletableFuture<ImagePattern> applyAsync(final Shape SHAPE) {
+        // the setters may be called while the texture is computed, so the
+        // background thread works on a copy of the current parameters
+        final BrushedMetalPaint PAINT = new BrushedMetalPaint(this);
+        return AsyncPaintGenerator.fill(SHAPE, new AsyncPaintGenerator.PixelSource() {
+            @Override public int[] createPixels(final int WIDTH, final int HEIGHT) {
+                return PAINT.getPixels(WIDTH, HEIGHT);
+            }
+        });
+    }
+
+    /**
+     * Like {@link #apply(Shape)}, but instead of one image of the size of the
+     * shape it repeats a tile that is only TILE_SIZE pixels high. The rows
+     * of the texture are independent, so the tile repeats vertically without
+     * seams. Without shine the blur wraps around, so the tile is also just
+     * TILE_SIZE pixels wide. With shine it spans the width of the shape,
+     * because the shine runs across the whole width.
+     */
+    public ImagePattern applyTiled(final Shape SHAPE) {
+        double x          = SHAPE.getLayoutBounds().getMinX();
+        double y          = SHAPE.getLayoutBounds().getMinY();
+        double tileWidth  = Double.compare(shine, 0) == 0 ? TILE_SIZE : SHAPE.getLayoutBounds().getWidth();
+        return new ImagePattern(getImage(tileWidth, TILE_SIZE), x, y, tileWidth, TILE_SIZE, false);
+    }
+
     public void blur(final int[] IN, final int[] OUT, final int WIDTH, final int RADIUS) {
         final int WIDTH_MINUS_1 = WIDTH - 1;
         final int R2 = 2 * RADIUS + 1;
@@ -205,8 +271,8 @@ public class BrushedMetalPaint {
         return shine;
     }
 
-    private int random(int x) {
-        x += (int) (255 * (2 * randomNumbers.nextFloat() - 1) * amount);
+    private int random(int x, final SplittableRandom RANDOM) {
+        x += (int) (255 * (2 * RANDOM.nextDouble() - 1) * amount);
         if (x < 0) {
             x = 0;
         } else if (x > 0xff) {
@@ -216,14 +282,7 @@ public class BrushedMetalPaint {
     }
 
     private int clamp(final int C) {
-        int ret = C;
-        if (C < 0) {
-            ret = 0;
-        }
-        if (C > 255) {
-            ret = 255;
-        }
-        return ret;
+        return ArgbColor.clamp(C);
     }
 
     private int mod(int a, final int B) {
@@ -235,19 +294,7 @@ public class BrushedMetalPaint {
         return a;
     }
 
-    private void setRGB(final WritableImage IMAGE, final int X, final int Y, final int[] PIXELS) {
-        final PixelWriter RASTER = IMAGE.getPixelWriter();
-        for (int x = 0 ; x < PIXELS.length ; x++) {
-            RASTER.setColor(X + x, Y, Color.rgb((PIXELS[x] >> 16) & 0xFF, (PIXELS[x] >> 8) & 0xFF, (PIXELS[x] &0xFF)));
-        }
-    }
-
     private int getIntFromColor(final Color COLOR) {
-        String hex = COLOR.toString();
-        StringBuilder intValue = new StringBuilder(10);
-        intValue.append(hex.substring(8, 10));
-        intValue.append(hex.substring(2, 8));
-        //System.out.println((int) (Long.parseLong(intValue.toString(), 16) - 0x100000000l));
-        return (int) Long.parseLong(intValue.toString(), 16);
+        return ArgbColor.fromColor(COLOR);
     }
 }
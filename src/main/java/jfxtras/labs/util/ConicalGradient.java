@@ -33,14 +33,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 
 import javafx.animation.Interpolator;
 import javafx.geometry.Point2D;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
@@ -56,6 +57,9 @@ import javafx.scene.shape.Shape;
  * Time: 09:46
  */
 public class ConicalGradient {
+    static final int            LUT_SIZE = 4096;
+    private static final double HALF_PI  = Math.PI / 2.0;
+    private static final double TWO_PI   = Math.PI * 2.0;
     private Point2D    center;
     private List<Stop> sortedStops;
 
@@ -98,7 +102,7 @@ public class ConicalGradient {
             stopMap.put(stop.getOffset(), stop.getColor());
         }
 
-        sortedStops = new LinkedList<Stop>();
+        sortedStops = new ArrayList<Stop>();
         final SortedSet<Double> sortedFractions = new TreeSet<Double>(stopMap.keySet());
         if (sortedFractions.last() < 1) {
             stopMap.put(1.0, stopMap.get(sortedFractions.first()));
@@ -141,7 +145,7 @@ public class ConicalGradient {
             stopMap.put(stop.getOffset(), stop.getColor());
         }
 
-        List<Stop> sortedStops2 = new LinkedList<Stop>();
+        List<Stop> sortedStops2 = new ArrayList<Stop>();
         SortedSet<Double> sortedFractions = new TreeSet<Double>(stopMap.keySet());
         if (sortedFractions.last() < 1) {
             stopMap.put(1.0, stopMap.get(sortedFractions.first()));
@@ -171,38 +175,35 @@ public class ConicalGradient {
         int height = (int) HEIGHT <= 0 ? 100 : (int) HEIGHT;
         final WritableImage RASTER = new WritableImage(width, height);
         final PixelWriter PIXEL_WRITER = RASTER.getPixelWriter();
-        Color color = Color.TRANSPARENT;
         if (center == null) {
             center = new Point2D(width / 2, height / 2);
         }
+        PIXEL_WRITER.setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), getPixels(width, height, center), 0, width);
+        return RASTER;
+    }
 
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                double dx = x - center.getX();
-                double dy = y - center.getY();
-                double distance = Math.sqrt((dx * dx) + (dy * dy));
-                distance = Double.compare(distance, 0) == 0 ? 1 : distance;
-
-                double angle = Math.abs(Math.toDegrees(Math.acos(dx / distance)));
-                if (dx >= 0 && dy <= 0) {
-                    angle = 90.0 - angle;
-                } else if (dx >= 0 && dy >= 0) {
-                    angle += 90.0;
-                } else if (dx <= 0 && dy >= 0) {
-                    angle += 90.0;
-                } else if (dx <= 0 && dy <= 0) {
-                    angle = 450.0 - angle;
-                }
-                for (int i = 0; i < (sortedStops.size() - 1); i++) {
-                    if (angle >= (sortedStops.get(i).getOffset() * 360) && angle < (sortedStops.get(i + 1).getOffset() * 360)) {
-                        double fraction = (angle - sortedStops.get(i).getOffset() * 360) / ((sortedStops.get(i + 1).getOffset() - sortedStops.get(i).getOffset()) * 360);
-                        color = (Color) Interpolator.LINEAR.interpolate(sortedStops.get(i).getColor(), sortedStops.get(i + 1).getColor(), fraction);
-                    }
-                }
-                PIXEL_WRITER.setColor(x, y, color);
+    /**
+     * Computes the non-premultiplied ARGB pixels of the gradient row by row.
+     * Does not touch any JavaFX state, so it may be called on any thread.
+     */
+    public int[] getPixels(final int WIDTH, final int HEIGHT, final Point2D CENTER) {
+        // The colors only depend on the angle, so they are looked up in a
+        // precomputed table instead of being interpolated for every pixel
+        return getPixels(WIDTH, HEIGHT, CENTER, createLookupTable());
+    }
+
+    private static int[] getPixels(final int WIDTH, final int HEIGHT, final Point2D CENTER, final int[] LUT) {
+        final int[] PIXELS = new int[WIDTH * HEIGHT];
+        final double CENTER_X = CENTER.getX();
+        final double CENTER_Y = CENTER.getY();
+        for (int y = 0; y < HEIGHT; y++) {
+            final double DY = y - CENTER_Y;
+            final int OFFSET = y * WIDTH;
+            for (int x = 0; x < WIDTH; x++) {
+                PIXELS[OFFSET + x] = LUT[lookupIndex(x - CENTER_X, DY)];
             }
         }
-        return RASTER;
+        return PIXELS;
     }
 
     public ImagePattern apply(final Shape SHAPE) {
@@ -211,6 +212,91 @@ public class ConicalGradient {
 		double width  = SHAPE.getLayoutBounds().getWidth();
 		double height = SHAPE.getLayoutBounds().getHeight();
 		center        = new Point2D(width / 2.0, height / 2.0);
-		return new ImagePattern(getImage(width, height), x, y, width, height, false);
+		final String KEY = PaintCache.key("conical", width, height, sortedStops);
+		Image image      = PaintCache.getDefault().get(KEY);
+		if (image == null) {
+			image = getImage(width, height);
+			PaintCache.getDefault().put(KEY, image);
+		}
+		return new ImagePattern(image, x, y, width, height, false);
+    }
+
+    /**
+     * Like {@link #apply(Shape)}, but fills the shape itself and computes the
+     * texture in the background (see {@link AsyncPaintGenerator}).
+     */
+    public CompletableFuture<ImagePattern> applyAsync(final Shape SHAPE) {
+        // the stops may change while the texture is computed, so the lookup
+        // table is created here and only the table is used in the background
+        final int[]  LUT = createLookupTable();
+        final String KEY = PaintCache.key("conical", SHAPE.getLayoutBounds().getWidth(), SHAPE.getLayoutBounds().getHeight(), sortedStops);
+        return AsyncPaintGenerator.fill(SHAPE, KEY, new AsyncPaintGenerator.PixelSource() {
+            @Override public int[] createPixels(final int WIDTH, final int HEIGHT) {
+                return getPixels(WIDTH, HEIGHT, new Point2D(WIDTH / 2.0, HEIGHT / 2.0), LUT);
+            }
+        });
+    }
+
+    /**
+     * Samples the stops at LUT_SIZE evenly spaced angles (clockwise, starting
+     * at 12 o'clock) and returns the colors as non-premultiplied ARGB values.
+     */
+    private int[] createLookupTable() {
+        final int    NO_OF_STOPS = sortedStops.size();
+        final double[] OFFSETS   = new double[NO_OF_STOPS];
+        final Color[]  COLORS    = new Color[NO_OF_STOPS];
+        for (int i = 0; i < NO_OF_STOPS; i++) {
+            OFFSETS[i] = sortedStops.get(i).getOffset() * 360;
+            COLORS[i]  = sortedStops.get(i).getColor();
+        }
+        final int[] LUT = new int[LUT_SIZE];
+        Color color = Color.TRANSPARENT;
+        for (int index = 0; index < LUT_SIZE; index++) {
+            double angle = (index + 0.5) * 360.0 / LUT_SIZE;
+            for (int i = 0; i < (NO_OF_STOPS - 1); i++) {
+                if (angle >= OFFSETS[i] && angle < OFFSETS[i + 1]) {
+                    double fraction = (angle - OFFSETS[i]) / (OFFSETS[i + 1] - OFFSETS[i]);
+                    color = (Color) Interpolator.LINEAR.interpolate(COLORS[i], COLORS[i + 1], fraction);
+                }
+            }
+            LUT[index] = ArgbColor.fromColor(color);
+        }
+        return LUT;
+    }
+
+    /**
+     * Returns the lookup table index for the angle of the given offset from
+     * the center, measured clockwise from 12 o'clock. Uses a polynomial
+     * arctangent which is accurate to far less than one table entry.
+     */
+    static int lookupIndex(final double DX, final double DY) {
+        final double ABS_X = Math.abs(DX);
+        final double ABS_Y = Math.abs(DY);
+        if (ABS_X == 0 && ABS_Y == 0) {
+            return 0;
+        }
+        // angle between the upward axis and the point, folded into 0..90 deg
+        double angle;
+        if (ABS_X <= ABS_Y) {
+            angle = atan(ABS_X / ABS_Y);
+        } else {
+            angle = HALF_PI - atan(ABS_Y / ABS_X);
+        }
+        if (DY > 0) {
+            angle = Math.PI - angle;
+        }
+        if (DX < 0) {
+            angle = TWO_PI - angle;
+        }
+        final int INDEX = (int) (angle * LUT_SIZE / TWO_PI);
+        return INDEX >= LUT_SIZE ? LUT_SIZE - 1 : INDEX;
+    }
+
+    /**
+     * Minimax approximation of atan(z) for 0 <= z <= 1, max error ~1e-5 rad.
+     */
+    private static double atan(final double Z) {
+        final double Z2 = Z * Z;
+        return Z * (0.99997726 + Z2 * (-0.33262347 + Z2 * (0.19354346 + Z2 * (-0.11643287 + Z2 * (0.05265332 + Z2 * -0.01172120)))));
     }
 }
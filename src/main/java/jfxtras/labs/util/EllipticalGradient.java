@@ -33,14 +33,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 
 import javafx.animation.Interpolator;
 import javafx.geometry.Point2D;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
@@ -56,6 +57,7 @@ import javafx.scene.shape.Shape;
  * Time: 10:37
  */
 public class EllipticalGradient {
+    private static final int LUT_SIZE = 4096;
     private List<Stop> sortedStops;
 
     public EllipticalGradient(final Stop... STOPS) {
@@ -77,7 +79,7 @@ public class EllipticalGradient {
             stopMap.put(stop.getOffset(), stop.getColor());
         }
 
-        sortedStops = new LinkedList<Stop>();
+        sortedStops = new ArrayList<Stop>();
         final SortedSet<Double> sortedFractions = new TreeSet<Double>(stopMap.keySet());
         if (sortedFractions.last() < 1) {
             stopMap.put(1.0, stopMap.get(sortedFractions.last()));
@@ -101,35 +103,62 @@ public class EllipticalGradient {
     }
 
     public Image getImage(final double WIDTH, final double HEIGHT, final Point2D CENTER) {
+        int     width   = (int) WIDTH <= 0 ? 100 : (int) WIDTH;
+        int     height  = (int) HEIGHT <= 0 ? 50 : (int) HEIGHT;
+        final WritableImage RASTER       = new WritableImage(width, height);
+        final PixelWriter   PIXEL_WRITER = RASTER.getPixelWriter();
+        PIXEL_WRITER.setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), getPixels(WIDTH, HEIGHT, CENTER), 0, width);
+        return RASTER;
+    }
+
+    /**
+     * Computes the non-premultiplied ARGB pixels of the gradient row by row.
+     * Does not touch any JavaFX state, so it may be called on any thread.
+     */
+    public int[] getPixels(final double WIDTH, final double HEIGHT, final Point2D CENTER) {
+        return getPixels(WIDTH, HEIGHT, CENTER, createLookupTable());
+    }
+
+    private static int[] getPixels(final double WIDTH, final double HEIGHT, final Point2D CENTER, final int[] LUT) {
         int     width   = (int) WIDTH <= 0 ? 100 : (int) WIDTH;
         int     height  = (int) HEIGHT <= 0 ? 50 : (int) HEIGHT;
         double  a       = WIDTH / 2.0;
         double  aSquare = a * a;
         double  b       = HEIGHT / 2.0;
         double  bSquare = b * b;
-        Color   color   = Color.TRANSPARENT;
-        final WritableImage RASTER       = new WritableImage(width, height);
-        final PixelWriter PIXEL_WRITER = RASTER.getPixelWriter();
-        double isInside;
-        double fraction;
-        double currentOffset;
-        double nextOffset;
-        for (int y = 0 ; y < height ; y++) {
-            for (int x = 0 ; x < width ; x++) {
-                isInside = ((x - CENTER.getX()) * (x - CENTER.getX())) / aSquare + ((y - CENTER.getY()) * (y - CENTER.getY())) / bSquare;
-                isInside = isInside > 1 ? 1 : isInside;
-                for (int i = 0; i < (sortedStops.size() - 1); i++) {
-                    currentOffset = sortedStops.get(i).getOffset();
-                    nextOffset    = sortedStops.get(i + 1).getOffset();
-                    if (Double.compare(isInside, currentOffset) > 0 && Double.compare(isInside, nextOffset) <= 0) {
-                        fraction = (isInside - currentOffset) / (nextOffset - currentOffset);
-                        color    = (Color) Interpolator.LINEAR.interpolate(sortedStops.get(i).getColor(), sortedStops.get(i + 1).getColor(), fraction);
-                    }
-                }
-                PIXEL_WRITER.setColor(x, y, color);
+        final double CENTER_X = CENTER.getX();
+        final double CENTER_Y = CENTER.getY();
+
+        // The color only depends on (x - cx)^2 / a^2 + (y - cy)^2 / b^2, so both
+        // terms are precomputed per column and row and the sum is mapped to a
+        // color through a lookup table
+        final double[] X_SQUARE = new double[width];
+        for (int x = 0 ; x < width ; x++) {
+            X_SQUARE[x] = ((x - CENTER_X) * (x - CENTER_X)) / aSquare;
+        }
+
+        // If the center lies on a pixel or between two pixels the gradient is
+        // symmetric, so every pixel that has a mirror image is copied from it
+        final boolean MIRROR_X = Double.compare(Math.rint(CENTER_X * 2), CENTER_X * 2) == 0;
+        final boolean MIRROR_Y = Double.compare(Math.rint(CENTER_Y * 2), CENTER_Y * 2) == 0;
+        final int     SUM_X    = (int) (CENTER_X * 2);
+        final int     SUM_Y    = (int) (CENTER_Y * 2);
+        final int     START_X  = MIRROR_X ? clamp(0, width, (int) Math.ceil(CENTER_X)) : 0;
+        final int     START_Y  = MIRROR_Y ? clamp(0, height, (int) Math.ceil(CENTER_Y)) : 0;
+
+        final int[] PIXELS = new int[width * height];
+        for (int y = START_Y ; y < height ; y++) {
+            fillRow(PIXELS, y, width, LUT, X_SQUARE, ((y - CENTER_Y) * (y - CENTER_Y)) / bSquare, START_X, SUM_X);
+            final int MIRRORED_Y = SUM_Y - y;
+            if (MIRROR_Y && MIRRORED_Y >= 0 && MIRRORED_Y < START_Y) {
+                System.arraycopy(PIXELS, y * width, PIXELS, MIRRORED_Y * width, width);
             }
         }
-        return RASTER;
+        // rows above the center that have no mirror image below it
+        for (int y = 0 ; y < START_Y && SUM_Y - y >= height ; y++) {
+            fillRow(PIXELS, y, width, LUT, X_SQUARE, ((y - CENTER_Y) * (y - CENTER_Y)) / bSquare, START_X, SUM_X);
+        }
+        return PIXELS;
     }
 
     public ImagePattern getFill(final Shape SHAPE) {
@@ -141,6 +170,96 @@ public class EllipticalGradient {
         double y      = SHAPE.getLayoutBounds().getMinY();
         double width  = SHAPE.getLayoutBounds().getWidth();
         double height = SHAPE.getLayoutBounds().getHeight();
-        return new ImagePattern(getImage(width, height, CENTER), x, y, width, height, false);
+        final String KEY = PaintCache.key("elliptical", width, height, CENTER.getX(), CENTER.getY(), sortedStops);
+        Image image      = PaintCache.getDefault().get(KEY);
+        if (image == null) {
+            image = getImage(width, height, CENTER);
+            PaintCache.getDefault().put(KEY, image);
+        }
+        return new ImagePattern(image, x, y, width, height, false);
+    }
+
+    /**
+     * Like {@link #getFill(Shape)}, but fills the shape itself and computes
+     * the texture in the background (see {@link AsyncPaintGenerator}).
+     */
+    public CompletableFuture<ImagePattern> fillAsync(final Shape SHAPE) {
+        return fillAsync(SHAPE, new Point2D(SHAPE.getLayoutBounds().getWidth() / 2.0, SHAPE.getLayoutBounds().getHeight() / 2.0));
+    }
+
+    /**
+     * Like {@link #getFill(Shape, Point2D)}, but fills the shape itself and
+     * computes the texture in the background (see
+     * {@link AsyncPaintGenerator}).
+     */
+    public CompletableFuture<ImagePattern> fillAsync(final Shape SHAPE, final Point2D CENTER) {
+        // the center is given in the coordinates of the shape, but the
+        // preview is computed at a smaller size
+        final double SHAPE_WIDTH  = SHAPE.getLayoutBounds().getWidth();
+        final double SHAPE_HEIGHT = SHAPE.getLayoutBounds().getHeight();
+        // the stops may change while the texture is computed, so the lookup
+        // table is created here and only the table is used in the background
+        final int[]  LUT = createLookupTable();
+        final String KEY = PaintCache.key("elliptical", SHAPE_WIDTH, SHAPE_HEIGHT, CENTER.getX(), CENTER.getY(), sortedStops);
+        return AsyncPaintGenerator.fill(SHAPE, KEY, new AsyncPaintGenerator.PixelSource() {
+            @Override public int[] createPixels(final int WIDTH, final int HEIGHT) {
+                final double SCALE_X = SHAPE_WIDTH > 0 ? WIDTH / SHAPE_WIDTH : 1;
+                final double SCALE_Y = SHAPE_HEIGHT > 0 ? HEIGHT / SHAPE_HEIGHT : 1;
+                return getPixels(WIDTH, HEIGHT, new Point2D(CENTER.getX() * SCALE_X, CENTER.getY() * SCALE_Y), LUT);
+            }
+        });
+    }
+
+    /**
+     * Fills one row of the given pixel array. Columns from START_X on are
+     * looked up, columns left of it are mirrored from the column at
+     * SUM_X - x if that one exists.
+     */
+    private static void fillRow(final int[] PIXELS, final int Y, final int WIDTH, final int[] LUT, final double[] X_SQUARE, final double Y_SQUARE, final int START_X, final int SUM_X) {
+        final int OFFSET = Y * WIDTH;
+        for (int x = START_X ; x < WIDTH ; x++) {
+            PIXELS[OFFSET + x] = LUT[lookupIndex(X_SQUARE[x] + Y_SQUARE)];
+        }
+        for (int x = 0 ; x < START_X ; x++) {
+            final int MIRRORED_X = SUM_X - x;
+            PIXELS[OFFSET + x] = MIRRORED_X < WIDTH ? PIXELS[OFFSET + MIRRORED_X] : LUT[lookupIndex(X_SQUARE[x] + Y_SQUARE)];
+        }
+    }
+
+    /**
+     * Samples the stops at LUT_SIZE evenly spaced distances between the center
+     * (0) and the outline of the ellipse (1) and returns the colors as
+     * non-premultiplied ARGB values. The last entry holds the color of
+     * everything on or outside the outline.
+     */
+    private int[] createLookupTable() {
+        final int      NO_OF_STOPS = sortedStops.size();
+        final double[] OFFSETS     = new double[NO_OF_STOPS];
+        final Color[]  COLORS      = new Color[NO_OF_STOPS];
+        for (int i = 0; i < NO_OF_STOPS; i++) {
+            OFFSETS[i] = sortedStops.get(i).getOffset();
+            COLORS[i]  = sortedStops.get(i).getColor();
+        }
+        final int[] LUT = new int[LUT_SIZE + 1];
+        Color color = Color.TRANSPARENT;
+        for (int index = 0; index <= LUT_SIZE; index++) {
+            double isInside = index == LUT_SIZE ? 1.0 : (index + 0.5) / LUT_SIZE;
+            for (int i = 0; i < (NO_OF_STOPS - 1); i++) {
+                if (Double.compare(isInside, OFFSETS[i]) > 0 && Double.compare(isInside, OFFSETS[i + 1]) <= 0) {
+                    double fraction = (isInside - OFFSETS[i]) / (OFFSETS[i + 1] - OFFSETS[i]);
+                    color = (Color) Interpolator.LINEAR.interpolate(COLORS[i], COLORS[i + 1], fraction);
+                }
+            }
+            LUT[index] = ArgbColor.fromColor(color);
+        }
+        return LUT;
+    }
+
+    private static int lookupIndex(final double IS_INSIDE) {
+        return IS_INSIDE >= 1 ? LUT_SIZE : (int) (IS_INSIDE * LUT_SIZE);
+    }
+
+    private static int clamp(final int MIN, final int MAX, final int VALUE) {
+        return VALUE < MIN ? MIN : (VALUE > MAX ? MAX : VALUE);
     }
 }
@@ -0,0 +1,219 @@
+/**
+ * ImageCache.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.scene.image.Image;
+
+/**
+ * A least-recently-used cache for decoded images with a budget in bytes.
+ * Every image is accounted with 4 bytes per pixel, which is what the image
+ * needs once it is decoded. If adding an image exceeds the budget, the least
+ * recently used images are evicted until the cache fits again.
+ * 
+ * The cache may be shared between many controls; all methods are thread
+ * safe.
+ */
+public class ImageCache {
+
+	/**
+	 * The budget of the {@link #getDefault() default cache}: 64 MB
+	 */
+	public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+	private static ImageCache defaultCache;
+
+	private long maxBytes;
+
+	private final LinkedHashMap<String, Image> images = new LinkedHashMap<>(
+			16, 0.75f, true);
+
+	private long bytes;
+
+	private long hits;
+
+	private long misses;
+
+	/**
+	 * @param maxBytes
+	 *            the maximum number of bytes the decoded images in the cache
+	 *            may use
+	 */
+	public ImageCache(long maxBytes) {
+		checkMaxBytes(maxBytes);
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * @return the process wide cache with a budget of
+	 *         {@link #DEFAULT_MAX_BYTES}
+	 */
+	public static synchronized ImageCache getDefault() {
+		if (defaultCache == null) {
+			defaultCache = new ImageCache(DEFAULT_MAX_BYTES);
+		}
+		return defaultCache;
+	}
+
+	/**
+	 * Returns the cached image for the given key and marks it as recently
+	 * used.
+	 * 
+	 * @param key
+	 *            the key of the image
+	 * @return the image or <code>null</code> if it is not cached
+	 */
+	public synchronized Image get(String key) {
+		Image image = images.get(key);
+		if (image == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return image;
+	}
+
+	/**
+	 * Puts an image into the cache and evicts the least recently used images
+	 * if the budget is exceeded. An image that is larger than the whole
+	 * budget is not cached.
+	 * 
+	 * @param key
+	 *            the key of the image
+	 * @param image
+	 *            the decoded image
+	 */
+	public synchronized void put(String key, Image image) {
+		long size = sizeOf(image);
+		if (size > maxBytes) {
+			return;
+		}
+		Image previous = images.put(key, image);
+		if (previous != null) {
+			bytes -= sizeOf(previous);
+		}
+		bytes += size;
+		trim();
+	}
+
+	private void trim() {
+		Iterator<Map.Entry<String, Image>> it = images.entrySet().iterator();
+		while (bytes > maxBytes && it.hasNext()) {
+			Map.Entry<String, Image> eldest = it.next();
+			bytes -= sizeOf(eldest.getValue());
+			it.remove();
+		}
+	}
+
+	/**
+	 * Removes all images from the cache.
+	 */
+	public synchronized void clear() {
+		images.clear();
+		bytes = 0;
+	}
+
+	/**
+	 * @return the number of cached images
+	 */
+	public synchronized int size() {
+		return images.size();
+	}
+
+	/**
+	 * @return the number of bytes the cached images use
+	 */
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * @return the budget of this cache in bytes
+	 */
+	public synchronized long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * Changes the budget of this cache. If the cached images exceed the new
+	 * budget, the least recently used images are evicted.
+	 * 
+	 * @param maxBytes
+	 *            the maximum number of bytes the decoded images in the cache
+	 *            may use
+	 */
+	public synchronized void setMaxBytes(long maxBytes) {
+		checkMaxBytes(maxBytes);
+		this.maxBytes = maxBytes;
+		trim();
+	}
+
+	/**
+	 * @return the number of {@link #get(String)} calls that found an image
+	 */
+	public synchronized long getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * @return the number of {@link #get(String)} calls that did not find an
+	 *         image
+	 */
+	public synchronized long getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * Resets the hit and miss counters to zero.
+	 */
+	public synchronized void resetStatistics() {
+		hits = 0;
+		misses = 0;
+	}
+
+	private static void checkMaxBytes(long maxBytes) {
+		if (maxBytes < 0) {
+			throw new IllegalArgumentException("maxBytes must not be negative: " + maxBytes);
+		}
+	}
+
+	/**
+	 * @param image
+	 *            a decoded image
+	 * @return the number of bytes the image uses in memory
+	 */
+	public static long sizeOf(Image image) {
+		return (long) Math.ceil(image.getWidth())
+				* (long) Math.ceil(image.getHeight()) * 4L;
+	}
+}
@@ -0,0 +1,93 @@
+/**
+ * PaintCache.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+/**
+ * A process wide cache for the images that are generated for paints like
+ * gradients, noise and brushed metal. Generating such an image is expensive
+ * and the result only depends on the parameters of the generator and the
+ * size in pixels, so controls of the same size and style share one image
+ * instead of each generating their own.
+ * 
+ * Keys are built with {@link #key(String, double, double, Object...)}. Set
+ * the budget to 0 to disable caching.
+ */
+public class PaintCache extends ImageCache {
+
+	/**
+	 * The budget of the {@link #getDefault() default cache}: 32 MB
+	 */
+	public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+	private static PaintCache defaultCache;
+
+	/**
+	 * @param maxBytes
+	 *            the maximum number of bytes the cached images may use
+	 */
+	public PaintCache(long maxBytes) {
+		super(maxBytes);
+	}
+
+	/**
+	 * @return the process wide paint cache with a budget of
+	 *         {@link #DEFAULT_MAX_BYTES}
+	 */
+	public static synchronized PaintCache getDefault() {
+		if (defaultCache == null) {
+			defaultCache = new PaintCache(DEFAULT_MAX_BYTES);
+		}
+		return defaultCache;
+	}
+
+	/**
+	 * Builds the cache key of a generated image.
+	 * 
+	 * @param generator
+	 *            the name of the generator, e.g. "conical"
+	 * @param width
+	 *            the width of the image
+	 * @param height
+	 *            the height of the image
+	 * @param params
+	 *            all further parameters the generated image depends on; they
+	 *            must have a meaningful toString()
+	 * @return the key
+	 */
+	public static String key(String generator, double width, double height,
+			Object... params) {
+		StringBuilder key = new StringBuilder(generator).append('@')
+				.append(width).append('x').append(height);
+		for (Object param : params) {
+			key.append(';').append(param);
+		}
+		return key.toString();
+	}
+}
@@ -0,0 +1,104 @@
+/**
+ * RowBands.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * Fills the rows of a generated texture in bands. Textures with at least
+ * PARALLEL_THRESHOLD pixels are split in halves on the common
+ * {@link ForkJoinPool} until the bands are smaller than that, smaller
+ * textures are filled as one band on the calling thread.
+ */
+final class RowBands {
+    static final int PARALLEL_THRESHOLD = 256 * 256;
+
+
+    // ******************** Constructors **************************************
+    private RowBands() {
+    }
+
+
+    // ******************** Inner Interfaces **********************************
+    /**
+     * Fills a band of rows. Bands do not overlap, but they may be filled
+     * concurrently, so implementations may only write the rows of their band
+     * and must keep per band state, like scratch arrays, in local variables.
+     */
+    interface RowFiller {
+        /**
+         * Fills the rows FROM_Y (inclusive) to TO_Y (exclusive).
+         */
+        void fillRows(final int FROM_Y, final int TO_Y);
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Fills all rows of a WIDTH x HEIGHT texture and returns once they are
+     * filled.
+     */
+    static void fill(final int WIDTH, final int HEIGHT, final RowFiller FILLER) {
+        final Band BAND = new Band(WIDTH, 0, HEIGHT, FILLER);
+        if ((long) WIDTH * HEIGHT < PARALLEL_THRESHOLD) {
+            BAND.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(BAND);
+        }
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static class Band extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int       WIDTH;
+        private final int       FROM_Y;
+        private final int       TO_Y;
+        private final RowFiller FILLER;
+
+        Band(final int WIDTH, final int FROM_Y, final int TO_Y, final RowFiller FILLER) {
+            this.WIDTH  = WIDTH;
+            this.FROM_Y = FROM_Y;
+            this.TO_Y   = TO_Y;
+            this.FILLER = FILLER;
+        }
+
+        @Override protected void compute() {
+            if ((long) (TO_Y - FROM_Y) * WIDTH >= PARALLEL_THRESHOLD && TO_Y - FROM_Y > 1) {
+                final int MIDDLE_Y = (FROM_Y + TO_Y) >>> 1;
+                invokeAll(new Band(WIDTH, FROM_Y, MIDDLE_Y, FILLER), new Band(WIDTH, MIDDLE_Y, TO_Y, FILLER));
+                return;
+            }
+            FILLER.fillRows(FROM_Y, TO_Y);
+        }
+    }
+}
@@ -31,18 +31,17 @@ package jfxtras.labs.util;
 
 import java.util.Random;
 
-import javafx.animation.Interpolator;
 import javafx.beans.binding.DoubleBinding;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ReadOnlyDoubleProperty;
 import javafx.geometry.Bounds;
-import javafx.geometry.Point2D;
 import javafx.scene.Node;
 import javafx.scene.SnapshotParameters;
 import javafx.scene.SnapshotParametersBuilder;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
@@ -51,7 +50,6 @@ import javafx.scene.paint.ImagePattern;
 import javafx.scene.paint.LinearGradient;
 import javafx.scene.paint.Paint;
 import javafx.scene.paint.Stop;
-import javafx.scene.shape.ArcType;
 import javafx.scene.shape.Shape;
 import jfxtras.labs.scene.control.gauge.GradientLookup;
 
@@ -133,93 +131,31 @@ public class Util {
     }
 
     public static double[] HSLtoRGB(double hue, double saturation, double luminance) {
-        double normalizedHue = ((hue % 360) + 360) %360;
-        hue = normalizedHue / 360;
-        double q;
-        if (luminance < 0.5) {
-            q = luminance * (1 + saturation);
-        } else {
-            q = (luminance + saturation) - (saturation * luminance);
-        }
-        double p     = 2 * luminance - q;
-        double red   = Math.max(0, HueToRGB(p, q, hue + (1.0f / 3.0f)));
-        double green = Math.max(0, HueToRGB(p, q, hue));
-        double blue  = Math.max(0, HueToRGB(p, q, hue - (1.0f / 3.0f)));
-
-        return new double[]{red, green, blue};
+        final double[] RGB = new double[3];
+        ArgbColor.hslToRgb(hue, saturation, luminance, RGB);
+        return RGB;
     }
 
     public static double[] RGBtoHSL(double red, double green, double blue) {
-        //  Minimum and Maximum RGB values are used in the HSL calculations
-        double min = Math.min(red, Math.min(green, blue));
-        double max = Math.max(red, Math.max(green, blue));
-
-        //  Calculate the Hue
-        double hue = 0;
-        if (max == min) {
-            hue = 0;
-        } else if (max == red) {
-            hue = (( (green - blue) / (max - min) / 6.0) + 1) % 1;
-        } else if (max == green) {
-            hue = ( (blue - red) / (max - min) / 6.0) + 1.0 / 3.0;
-        } else if (max == blue) {
-            hue = ( (red - green) / (max - min) / 6.0) + 2.0 / 3.0;
-        }
-        hue *= 360;
-
-        //  Calculate the Luminance
-        double luminance = (max + min) / 2;
-
-        //  Calculate the Saturation
-        double saturation;
-        if (Double.compare(max,min) == 0) {
-            saturation = 0;
-        } else if (luminance <= 0.5) {
-            saturation = (max - min) / (max + min);
-        } else {
-            saturation = (max - min) / (2 - max - min);
-        }
-
-        return new double[]{ hue, saturation, luminance };
-    }
-
-    private static double HueToRGB(final double P, final double Q, double hue) {
-        if (hue < 0) {
-            hue += 1;
-        }
-        if (hue > 1 ) {
-            hue -= 1;
-        }
-        if (6 * hue < 1) {
-            return P + ((Q - P) * 6 * hue);
-        }
-        if (2 * hue < 1 ) {
-            return  Q;
-        }
-        if (3 * hue < 2) {
-            return P + ( (Q - P) * 6 * ((2.0 / 3.0) - hue) );
-        }
-        return P;
+        final double[] HSL = new double[3];
+        ArgbColor.rgbToHsl(red, green, blue, HSL);
+        return HSL;
     }
 
     public static Color biLinearInterpolateColor(final Color COLOR_UL, final Color COLOR_UR, final Color COLOR_LL, final Color COLOR_LR, final float FRACTION_X, final float FRACTION_Y) {
-        final Color INTERPOLATED_COLOR_X1 = (Color) Interpolator.LINEAR.interpolate(COLOR_UL, COLOR_UR, FRACTION_X);
-        final Color INTERPOLATED_COLOR_X2 = (Color) Interpolator.LINEAR.interpolate(COLOR_LL, COLOR_LR, FRACTION_X);
-        return (Color) Interpolator.LINEAR.interpolate(INTERPOLATED_COLOR_X1, INTERPOLATED_COLOR_X2, FRACTION_Y);
+        final double RED     = ArgbColor.biLinearInterpolateChannel(COLOR_UL.getRed(), COLOR_UR.getRed(), COLOR_LL.getRed(), COLOR_LR.getRed(), FRACTION_X, FRACTION_Y);
+        final double GREEN   = ArgbColor.biLinearInterpolateChannel(COLOR_UL.getGreen(), COLOR_UR.getGreen(), COLOR_LL.getGreen(), COLOR_LR.getGreen(), FRACTION_X, FRACTION_Y);
+        final double BLUE    = ArgbColor.biLinearInterpolateChannel(COLOR_UL.getBlue(), COLOR_UR.getBlue(), COLOR_LL.getBlue(), COLOR_LR.getBlue(), FRACTION_X, FRACTION_Y);
+        final double OPACITY = ArgbColor.biLinearInterpolateChannel(COLOR_UL.getOpacity(), COLOR_UR.getOpacity(), COLOR_LL.getOpacity(), COLOR_LR.getOpacity(), FRACTION_X, FRACTION_Y);
+        return new Color(RED, GREEN, BLUE, OPACITY);
     }
 
     public static Color darker(final Color COLOR, final double FRACTION) {
-        double red   = clamp(0, 1, COLOR.getRed() * (1.0 - FRACTION));
-        double green = clamp(0, 1, COLOR.getGreen() * (1.0 - FRACTION));
-        double blue  = clamp(0, 1, COLOR.getBlue() * (1.0 - FRACTION));
-        return new Color(red, green, blue, COLOR.getOpacity());
+        return new Color(ArgbColor.darkerChannel(COLOR.getRed(), FRACTION), ArgbColor.darkerChannel(COLOR.getGreen(), FRACTION), ArgbColor.darkerChannel(COLOR.getBlue(), FRACTION), COLOR.getOpacity());
     }
 
     public static Color brighter(final Color COLOR, final double FRACTION) {
-        double red   = clamp(0, 1, COLOR.getRed() * (1.0 + FRACTION));
-        double green = clamp(0, 1, COLOR.getGreen() * (1.0 + FRACTION));
-        double blue  = clamp(0, 1, COLOR.getBlue() * (1.0 + FRACTION));
-        return new Color(red, green, blue, COLOR.getOpacity());
+        return new Color(ArgbColor.brighterChannel(COLOR.getRed(), FRACTION), ArgbColor.brighterChannel(COLOR.getGreen(), FRACTION), ArgbColor.brighterChannel(COLOR.getBlue(), FRACTION), COLOR.getOpacity());
     }
 
     public static double colorDistance(final Color COLOR1, final Color COLOR2) {
@@ -280,29 +216,48 @@ public class Util {
         CANVAS.setLayoutX(SHAPE.getLayoutBounds().getMinX());
         CANVAS.setLayoutY(SHAPE.getLayoutBounds().getMinY());
         CANVAS.setClip(CLIP);
-        // create the gradient with the given stops
-        final GraphicsContext CTX          = CANVAS.getGraphicsContext2D();
-        final Bounds          BOUNDS       = SHAPE.getLayoutBounds();
-        final Point2D         CENTER       = new Point2D(BOUNDS.getWidth() / 2, BOUNDS.getHeight() / 2);
-        final double          RADIUS       = Math.sqrt(BOUNDS.getWidth() * BOUNDS.getWidth() + BOUNDS.getHeight() * BOUNDS.getHeight()) / 2;
-        final double          ANGLE_STEP   = 0.1;
+        // Rasterize the gradient once and draw it with a single drawImage()
+        // instead of filling one thin wedge for every 0.1 degrees
+        final Bounds BOUNDS = SHAPE.getLayoutBounds();
+        if (STOPS.length < 2 || BOUNDS.getWidth() <= 0 || BOUNDS.getHeight() <= 0) {
+            return;
+        }
+        final int           WIDTH  = (int) Math.ceil(BOUNDS.getWidth());
+        final int           HEIGHT = (int) Math.ceil(BOUNDS.getHeight());
+        final WritableImage IMAGE  = new WritableImage(WIDTH, HEIGHT);
+        IMAGE.getPixelWriter().setPixels(0, 0, WIDTH, HEIGHT, PixelFormat.getIntArgbInstance(),
+                                         createConicalGradientPixels(WIDTH, HEIGHT, BOUNDS.getWidth() / 2, BOUNDS.getHeight() / 2, STOPS, ROTATION_OFFSET), 0, WIDTH);
+        CANVAS.getGraphicsContext2D().drawImage(IMAGE, 0, 0);
+    }
+
+    /**
+     * Computes the pixels of the conical gradient drawn by
+     * createConicalGradient(): the stops run counterclockwise, starting at 12
+     * o'clock turned clockwise by ROTATION_OFFSET degrees. Angles outside of
+     * the range of the stops stay transparent.
+     */
+    private static int[] createConicalGradientPixels(final int WIDTH, final int HEIGHT, final double CENTER_X, final double CENTER_Y, final Stop[] STOPS, final double ROTATION_OFFSET) {
         final GradientLookup COLOR_LOOKUP = new GradientLookup(STOPS);
-        CTX.translate(CENTER.getX(), CENTER.getY());
-        CTX.rotate(-90 + ROTATION_OFFSET);
-        CTX.translate(-CENTER.getX(), -CENTER.getY());
-        for (int i = 0, size = STOPS.length - 1; i < size; i++) {
-            for (double angle = STOPS[i].getOffset() * 360; Double.compare(angle,STOPS[i + 1].getOffset() * 360) <= 0; angle += 0.1) {
-                CTX.beginPath();
-                CTX.moveTo(CENTER.getX() - RADIUS, CENTER.getY() - RADIUS);
-                CTX.setFill(COLOR_LOOKUP.getColorAt(angle / 360));
-                if (RADIUS > 0) {
-                    CTX.fillArc(CENTER.getX() - RADIUS, CENTER.getY() - RADIUS, 2 * RADIUS, 2 * RADIUS, angle, ANGLE_STEP, ArcType.ROUND);
-                } else {
-                    CTX.moveTo(CENTER.getX() - RADIUS, CENTER.getY() - RADIUS);
-                }
-                CTX.fill();
+        final double         FIRST_ANGLE  = STOPS[0].getOffset() * 360;
+        final double         LAST_ANGLE   = STOPS[STOPS.length - 1].getOffset() * 360;
+        final int[]          LUT          = new int[ConicalGradient.LUT_SIZE];
+        for (int i = 0; i < LUT.length; i++) {
+            // the lookup table is indexed clockwise from 12 o'clock
+            double angle = (ROTATION_OFFSET - (i + 0.5) * 360.0 / LUT.length) % 360;
+            angle = angle < 0 ? angle + 360 : angle;
+            if (angle >= FIRST_ANGLE && angle <= LAST_ANGLE) {
+                LUT[i] = COLOR_LOOKUP.getArgbAt(angle / 360);
+            }
+        }
+        final int[] PIXELS = new int[WIDTH * HEIGHT];
+        for (int y = 0; y < HEIGHT; y++) {
+            final double DY     = y + 0.5 - CENTER_Y;
+            final int    OFFSET = y * WIDTH;
+            for (int x = 0; x < WIDTH; x++) {
+                PIXELS[OFFSET + x] = LUT[ConicalGradient.lookupIndex(x + 0.5 - CENTER_X, DY)];
             }
         }
+        return PIXELS;
     }
 
 
@@ -315,6 +270,11 @@ public class Util {
     public static ImagePattern createCarbonPattern() {
         final double WIDTH        = 12;
         final double HEIGHT       = 12;
+        final String KEY          = PaintCache.key("carbon", WIDTH, HEIGHT);
+        final Image  CACHED_IMAGE = PaintCache.getDefault().get(KEY);
+        if (CACHED_IMAGE != null) {
+            return new ImagePattern(CACHED_IMAGE, 0, 0, WIDTH, HEIGHT, false);
+        }
         final Canvas CANVAS       = new Canvas(WIDTH, HEIGHT);
         final GraphicsContext CTX = CANVAS.getGraphicsContext2D();
 
@@ -418,6 +378,7 @@ public class Util {
 
         final Image PATTERN_IMAGE = CANVAS.snapshot(SNAPSHOT_PARAMETER, null);
         final ImagePattern PATTERN = new ImagePattern(PATTERN_IMAGE, 0, 0, WIDTH, HEIGHT, false);
+        PaintCache.getDefault().put(KEY, PATTERN_IMAGE);
 
         return PATTERN;
     }
@@ -494,6 +455,8 @@ public class Util {
         return PATTERN;
     }
 
+    private static final int NOISE_TILE_SIZE = 128;
+
     public static Image createNoiseImage(final double WIDTH, final double HEIGHT, final Color COLOR) {
         return createNoiseImage(WIDTH, HEIGHT, COLOR.darker(), COLOR.brighter(), 30);
     }
@@ -502,6 +465,16 @@ public class Util {
         if (WIDTH <= 0 || HEIGHT <= 0) {
             return null;
         }
+        final String KEY   = PaintCache.key("noise", WIDTH, HEIGHT, DARK_COLOR, BRIGHT_COLOR, ALPHA_VARIATION_IN_PERCENT);
+        Image        image = PaintCache.getDefault().get(KEY);
+        if (image == null) {
+            image = generateNoiseImage(WIDTH, HEIGHT, DARK_COLOR, BRIGHT_COLOR, ALPHA_VARIATION_IN_PERCENT);
+            PaintCache.getDefault().put(KEY, image);
+        }
+        return image;
+    }
+
+    private static Image generateNoiseImage(final double WIDTH, final double HEIGHT, final Color DARK_COLOR, final Color BRIGHT_COLOR, final double ALPHA_VARIATION_IN_PERCENT) {
         double alphaVariationInPercent      = clamp(0, 100, ALPHA_VARIATION_IN_PERCENT);
         final WritableImage IMAGE           = new WritableImage((int) WIDTH, (int) HEIGHT);
         final PixelWriter PIXEL_WRITER      = IMAGE.getPixelWriter();
@@ -526,27 +499,9 @@ public class Util {
     }
 
     public static Paint applyNoisyBackground(final Shape SHAPE, final Color TEXTURE_COLOR) {
-        final int           WIDTH           = (int) SHAPE.getLayoutBounds().getWidth();
-        final int           HEIGHT          = (int) SHAPE.getLayoutBounds().getHeight();
-        final WritableImage IMAGE           = new WritableImage(WIDTH, HEIGHT);
-        final PixelWriter   PIXEL_WRITER    = IMAGE.getPixelWriter();
-        final Random        BW_RND          = new Random();
-        final Random        ALPHA_RND       = new Random();
-        final double        ALPHA_START     = 0.045;
-        final double        ALPHA_VARIATION = 0.09;
-        Color  noiseColor;
-        double noiseAlpha;
-        for (int y = 0; y < HEIGHT; y++) {
-            for (int x = 0; x < WIDTH; x++) {
-                if (BW_RND.nextBoolean()) {
-                    noiseColor = TEXTURE_COLOR.brighter();
-                } else {
-                    noiseColor = TEXTURE_COLOR.darker();
-                }
-                noiseAlpha = clamp(0, 1, ALPHA_START + ALPHA_RND.nextDouble() * ALPHA_VARIATION);
-                PIXEL_WRITER.setColor(x, y, Color.color(noiseColor.getRed(), noiseColor.getGreen(), noiseColor.getBlue(), noiseAlpha));
-            }
-        }
+        // 9% alpha variation gives an alpha of 0.045 - 0.135 per pixel
+        final Image IMAGE = createNoiseImage((int) SHAPE.getLayoutBounds().getWidth(), (int) SHAPE.getLayoutBounds().getHeight(),
+                                             TEXTURE_COLOR.darker(), TEXTURE_COLOR.brighter(), 9);
 		double x      = SHAPE.getLayoutBounds().getMinX();
 		double y      = SHAPE.getLayoutBounds().getMinY();
 		double width  = SHAPE.getLayoutBounds().getWidth();
@@ -554,14 +509,47 @@ public class Util {
 		return new ImagePattern(IMAGE, x, y, width, height, false);
     }
 
+    /**
+     * Like {@link #applyNoisyBackground(Shape, Color)}, but repeats a noise
+     * tile of NOISE_TILE_SIZE x NOISE_TILE_SIZE pixels instead of creating
+     * an image of the size of the shape. The pixels of the noise are
+     * independent of each other, so the tile repeats without seams.
+     */
+    public static Paint applyTiledNoisyBackground(final Shape SHAPE, final Color TEXTURE_COLOR) {
+        final Image TILE = createNoiseImage(NOISE_TILE_SIZE, NOISE_TILE_SIZE, TEXTURE_COLOR.darker(), TEXTURE_COLOR.brighter(), 9);
+        return new ImagePattern(TILE, SHAPE.getLayoutBounds().getMinX(), SHAPE.getLayoutBounds().getMinY(), NOISE_TILE_SIZE, NOISE_TILE_SIZE, false);
+    }
+
     public static Image createBrushedMetalImage(final double WIDTH, final double HEIGHT, final Color TEXTURE_COLOR) {
-        final BrushedMetalPaint PAINT = new BrushedMetalPaint(TEXTURE_COLOR);
-        return PAINT.getImage(WIDTH, HEIGHT);
+        final String KEY   = PaintCache.key("brushedMetal", WIDTH, HEIGHT, TEXTURE_COLOR);
+        Image        image = PaintCache.getDefault().get(KEY);
+        if (image == null) {
+            final BrushedMetalPaint PAINT = new BrushedMetalPaint(TEXTURE_COLOR);
+            image = PAINT.getImage(WIDTH, HEIGHT);
+            PaintCache.getDefault().put(KEY, image);
+        }
+        return image;
     }
 
     public static Paint applyBrushedMetalBackground(final Shape SHAPE, final Color TEXTURE_COLOR) {
-        final BrushedMetalPaint PAINT = new BrushedMetalPaint(TEXTURE_COLOR);
-        return PAINT.apply(SHAPE);
+        double x      = SHAPE.getLayoutBounds().getMinX();
+        double y      = SHAPE.getLayoutBounds().getMinY();
+        double width  = SHAPE.getLayoutBounds().getWidth();
+        double height = SHAPE.getLayoutBounds().getHeight();
+        return new ImagePattern(createBrushedMetalImage(width, height, TEXTURE_COLOR), x, y, width, height, false);
+    }
+
+    /**
+     * Like {@link #applyBrushedMetalBackground(Shape, Color)}, but repeats a
+     * tile that is only BrushedMetalPaint.TILE_SIZE pixels high (see
+     * {@link BrushedMetalPaint#applyTiled(Shape)}). The tile only depends on
+     * the width of the shape, so shapes of any height share it.
+     */
+    public static Paint applyTiledBrushedMetalBackground(final Shape SHAPE, final Color TEXTURE_COLOR) {
+        double x      = SHAPE.getLayoutBounds().getMinX();
+        double y      = SHAPE.getLayoutBounds().getMinY();
+        double width  = SHAPE.getLayoutBounds().getWidth();
+        return new ImagePattern(createBrushedMetalImage(width, BrushedMetalPaint.TILE_SIZE, TEXTURE_COLOR), x, y, width, BrushedMetalPaint.TILE_SIZE, false);
     }
 
 
@@ -29,10 +29,17 @@
 
 package jfxtras.labs.util.grid;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.application.Platform;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
@@ -41,15 +48,23 @@ import javafx.util.Callback;
 import jfxtras.labs.scene.control.grid.GridCell;
 import jfxtras.labs.scene.control.grid.GridView;
 
-import com.sun.javafx.collections.ObservableListWrapper;
-
 /**
+ * Shows a list of items in a {@link Pagination}, one {@link GridView} per
+ * page. The grid views of the most recently shown pages are cached, and the
+ * pages next to the current one are prepared in advance, so flipping pages
+ * only copies the items of the page. Grid views of evicted pages are unbound
+ * and reused for the next page that is not cached.
  * 
  * @author Hendrik Ebbers
  * 
  */
 public class GridPaginationHelper<T> {
 
+	/**
+	 * The number of page views that are cached by default
+	 */
+	public static final int DEFAULT_MAX_CACHED_PAGES = 5;
+
 	private Pagination pagination;
 
 	private ObservableList<T> items;
@@ -68,19 +83,77 @@ public class GridPaginationHelper<T> {
 
 	private ChangeListener<Number> defaultUpdateListener;
 
+	/**
+	 * The views of the cached pages, the least recently used first
+	 */
+	private final LinkedHashMap<Integer, GridView<T>> pageViews;
+
+	/**
+	 * Views of evicted pages that can be reused
+	 */
+	private final Deque<GridView<T>> spareViews = new ArrayDeque<>();
+
+	private boolean updatePending;
+
+	/**
+	 * The number of cells per page at the last {@link #update()}
+	 */
+	private int pageSize = -1;
+
+	/**
+	 * The index of the first item that has changed since the last
+	 * {@link #update()}
+	 */
+	private int dirtyFromIndex = Integer.MAX_VALUE;
+
 	public GridPaginationHelper(Pagination pagination,
 			final ObservableList<T> items,
 			Callback<GridView<T>, GridCell<T>> gridCellFactory) {
+		this(pagination, items, gridCellFactory, DEFAULT_MAX_CACHED_PAGES);
+	}
+
+	/**
+	 * @param pagination
+	 *            the pagination that shows the pages
+	 * @param items
+	 *            all items
+	 * @param gridCellFactory
+	 *            the cell factory of the grid views
+	 * @param maxCachedPages
+	 *            the number of page views that are kept; at least 3, so the
+	 *            current page and both of its neighbours fit
+	 */
+	public GridPaginationHelper(Pagination pagination,
+			final ObservableList<T> items,
+			Callback<GridView<T>, GridCell<T>> gridCellFactory,
+			final int maxCachedPages) {
+		if (maxCachedPages < 3) {
+			throw new IllegalArgumentException("maxCachedPages must be at least 3: " + maxCachedPages);
+		}
 		this.pagination = pagination;
 		this.items = items;
 		this.gridCellFactory = gridCellFactory;
+		this.pageViews = new LinkedHashMap<Integer, GridView<T>>(16, 0.75f,
+				true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<Integer, GridView<T>> eldest) {
+				if (size() > maxCachedPages) {
+					releasePageView(eldest.getValue());
+					return true;
+				}
+				return false;
+			}
+		};
 
 		defaultUpdateListener = new ChangeListener<Number>() {
 
 			@Override
 			public void changed(ObservableValue<? extends Number> arg0,
 					Number arg1, Number arg2) {
-				update();
+				requestUpdate();
 			}
 		};
 
@@ -88,37 +161,8 @@ public class GridPaginationHelper<T> {
 
 			@Override
 			public Node call(Integer arg0) {
-				GridView<T> gridView = null;
-				gridView = new GridView<>();
-				int startIndex = getCellStartIndexForPage(arg0);
-				ObservableList<T> currentItems = new ObservableListWrapper<>(
-						items.subList(
-								startIndex,
-								Math.min(startIndex
-										+ calcMaxVisibleCellsPerPage(),
-										items.size())));
-				gridView.setItems(currentItems);
-				gridView.setCellFactory(GridPaginationHelper.this.gridCellFactory);
-
-				gridView.cellHeightProperty().bind(
-						GridPaginationHelper.this.cellHeightProperty());
-				gridView.cellWidthProperty().bind(
-						GridPaginationHelper.this.cellWidthProperty());
-				gridView.horizontalCellSpacingProperty().bind(
-						GridPaginationHelper.this
-								.horizontalCellSpacingProperty());
-				gridView.verticalCellSpacingProperty()
-						.bind(GridPaginationHelper.this
-								.verticalCellSpacingProperty());
-
-				gridView.cellHeightProperty()
-						.addListener(defaultUpdateListener);
-				gridView.cellWidthProperty().addListener(defaultUpdateListener);
-				gridView.horizontalCellSpacingProperty().addListener(
-						defaultUpdateListener);
-				gridView.verticalCellSpacingProperty().addListener(
-						defaultUpdateListener);
-
+				GridView<T> gridView = getPageView(arg0);
+				prefetchNeighbours(arg0);
 				return gridView;
 			}
 		};
@@ -132,12 +176,22 @@ public class GridPaginationHelper<T> {
 		horizontalCellSpacingProperty().setValue(
 				dummyGridView.getHorizontalCellSpacing());
 
+		// the page views are bound to these properties, so one listener
+		// each is enough
+		cellHeightProperty().addListener(defaultUpdateListener);
+		cellWidthProperty().addListener(defaultUpdateListener);
+		horizontalCellSpacingProperty().addListener(defaultUpdateListener);
+		verticalCellSpacingProperty().addListener(defaultUpdateListener);
+
 		items.addListener(new ListChangeListener<T>() {
 
 			@Override
 			public void onChanged(
 					javafx.collections.ListChangeListener.Change<? extends T> arg0) {
-				update();
+				while (arg0.next()) {
+					dirtyFromIndex = Math.min(dirtyFromIndex, arg0.getFrom());
+				}
+				requestUpdate();
 			}
 		});
 
@@ -150,12 +204,120 @@ public class GridPaginationHelper<T> {
 		pagination.setPageFactory(pageFactory);
 	}
 
+	/**
+	 * Schedules an {@link #update()} for the next pulse. All requests until
+	 * then are coalesced, so resizing the pagination or adding many items
+	 * only recomputes the pages once.
+	 */
+	private void requestUpdate() {
+		if (updatePending) {
+			return;
+		}
+		updatePending = true;
+		Platform.runLater(new Runnable() {
+
+			@Override
+			public void run() {
+				updatePending = false;
+				update();
+			}
+		});
+	}
+
 	private void update() {
-		int firstCellOnPage = calcMaxVisibleCellsPerPage()
-				* pagination.getCurrentPageIndex();
-		pagination.setPageCount(calcPageCount());
-		pagination.setCurrentPageIndex((int) Math.floor(firstCellOnPage
-				/ calcMaxVisibleCellsPerPage()));
+		int newPageSize = calcMaxVisibleCellsPerPage();
+		int pageCount = calcPageCount();
+		pagination.setPageCount(pageCount);
+		if (newPageSize != pageSize) {
+			// keep the first item of the current page on the current page
+			int anchorIndex = pageSize < 0 ? 0 : pageSize
+					* pagination.getCurrentPageIndex();
+			pageSize = newPageSize;
+			pagination.setCurrentPageIndex(Math.min(anchorIndex / pageSize,
+					pageCount - 1));
+			dirtyFromIndex = 0;
+		}
+		// only the pages behind the first changed item need new items; if
+		// items are appended, this is just the last page
+		for (Map.Entry<Integer, GridView<T>> entry : pageViews.entrySet()) {
+			if ((entry.getKey() + 1) * pageSize > dirtyFromIndex) {
+				fillPageView(entry.getValue(), entry.getKey());
+			}
+		}
+		dirtyFromIndex = Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Returns the cached view of the given page or fills a spare or new view
+	 * with the items of the page.
+	 */
+	private GridView<T> getPageView(int pageIndex) {
+		GridView<T> gridView = pageViews.get(pageIndex);
+		if (gridView == null) {
+			gridView = spareViews.pollFirst();
+			if (gridView == null) {
+				gridView = new GridView<>(FXCollections.<T> observableArrayList());
+			}
+			bindPageView(gridView);
+			fillPageView(gridView, pageIndex);
+			pageViews.put(pageIndex, gridView);
+		}
+		return gridView;
+	}
+
+	/**
+	 * Prepares the views of the previous and the next page after the current
+	 * page has been shown.
+	 */
+	private void prefetchNeighbours(final int pageIndex) {
+		Platform.runLater(new Runnable() {
+
+			@Override
+			public void run() {
+				if (pageIndex != pagination.getCurrentPageIndex()) {
+					return;
+				}
+				int pageCount = calcPageCount();
+				if (pageIndex + 1 < pageCount) {
+					getPageView(pageIndex + 1);
+				}
+				if (pageIndex > 0) {
+					getPageView(pageIndex - 1);
+				}
+				// the current page must stay the most recently used one
+				pageViews.get(pageIndex);
+			}
+		});
+	}
+
+	private void fillPageView(GridView<T> gridView, int pageIndex) {
+		int startIndex = Math.min(getCellStartIndexForPage(pageIndex),
+				items.size());
+		int endIndex = Math.min(startIndex + calcMaxVisibleCellsPerPage(),
+				items.size());
+		gridView.getItems().setAll(items.subList(startIndex, endIndex));
+	}
+
+	private void bindPageView(GridView<T> gridView) {
+		gridView.setCellFactory(gridCellFactory);
+		gridView.cellHeightProperty().bind(cellHeightProperty());
+		gridView.cellWidthProperty().bind(cellWidthProperty());
+		gridView.horizontalCellSpacingProperty().bind(
+				horizontalCellSpacingProperty());
+		gridView.verticalCellSpacingProperty().bind(
+				verticalCellSpacingProperty());
+	}
+
+	/**
+	 * Unbinds the view of an evicted page and keeps it for reuse.
+	 */
+	private void releasePageView(GridView<T> gridView) {
+		gridView.cellHeightProperty().unbind();
+		gridView.cellWidthProperty().unbind();
+		gridView.horizontalCellSpacingProperty().unbind();
+		gridView.verticalCellSpacingProperty().unbind();
+		gridView.getItems().clear();
+		spareViews.addFirst(gridView);
 	}
 
 	private int calcMaxVisibleCellsPerPage() {
@@ -179,7 +341,8 @@ public class GridPaginationHelper<T> {
 	}
 
 	private int calcPageCount() {
-		return (int) Math.floor(items.size() / calcMaxVisibleCellsPerPage());
+		int cellsPerPage = calcMaxVisibleCellsPerPage();
+		return Math.max(1, (items.size() + cellsPerPage - 1) / cellsPerPage);
 	}
 
 	public void setHorizontalCellSpacing(double value) {
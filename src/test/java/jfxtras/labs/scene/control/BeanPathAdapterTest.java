@@ -0,0 +1,174 @@
+/**
+ * BeanPathAdapterTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that {@link BeanPathAdapter}s bound to long-lived properties/collections (i.e. controls) can be released:
+ * <ul>
+ *     <li>disposeReleasesAdapters: opens and disposes many adapters and checks that none of their beans are retained and the heap stays flat</li>
+ *     <li>disposeUnbinds: a disposed adapter no longer updates it's bean</li>
+ *     <li>weakListenersReleaseAbandonedAdapters: the beans of abandoned adapters using weak listeners can be collected without dispose</li>
+ * </ul>
+ */
+public class BeanPathAdapterTest {
+
+	private static final int ADAPTER_COUNT = 10000;
+	private static final long MAX_HEAP_GROWTH = 8L * 1024L * 1024L;
+
+	private final StringProperty name = new SimpleStringProperty();
+	private final ObservableList<String> languages = FXCollections.observableArrayList("English", "Spanish", "German");
+
+	@Test
+	public void disposeReleasesAdapters() throws Exception {
+		// warm up so that class loading, caches, etc. are not counted as growth
+		openAndClose(ADAPTER_COUNT / 10, false, true);
+		final long usedBefore = usedHeap();
+		final List<WeakReference<Person>> refs = openAndClose(ADAPTER_COUNT, false, true);
+		assertCollected(refs);
+		final long growth = usedHeap() - usedBefore;
+		Assert.assertTrue("Heap grew by " + growth + " bytes", growth < MAX_HEAP_GROWTH);
+	}
+
+	@Test
+	public void disposeUnbinds() throws Exception {
+		final Person person = new Person();
+		final BeanPathAdapter<Person> personPA = new BeanPathAdapter<>(person);
+		personPA.bindBidirectional("name", name);
+		personPA.bindContentBidirectional("languages", null, String.class, languages, String.class, null, null);
+		name.set("Before");
+		Assert.assertEquals("Before", person.getName());
+		Assert.assertEquals(3, person.getLanguages().size());
+
+		personPA.dispose();
+		name.set("After");
+		languages.add("French");
+		Assert.assertEquals("Before", person.getName());
+		Assert.assertEquals(3, person.getLanguages().size());
+	}
+
+	@Test
+	public void weakListenersReleaseAbandonedAdapters() throws Exception {
+		final List<WeakReference<Person>> refs = openAndClose(ADAPTER_COUNT, true, false);
+		assertCollected(refs);
+		// a bean that outlives its abandoned adapter must not be updated anymore
+		final Person person = new Person();
+		assertCollected(Collections.singletonList(abandon(person)));
+		name.set("After");
+		languages.add("French");
+		Assert.assertEquals("Before", person.getName());
+		Assert.assertEquals(3, person.getLanguages().size());
+	}
+
+	private WeakReference<BeanPathAdapter<Person>> abandon(final Person person) {
+		final BeanPathAdapter<Person> personPA = new BeanPathAdapter<>(person, false, true);
+		personPA.bindBidirectional("name", name);
+		personPA.bindContentBidirectional("languages", null, String.class, languages, String.class, null, null);
+		name.set("Before");
+		Assert.assertEquals("Before", person.getName());
+		Assert.assertEquals(3, person.getLanguages().size());
+		return new WeakReference<>(personPA);
+	}
+
+	private List<WeakReference<Person>> openAndClose(final int count, final boolean weakListeners,
+			final boolean dispose) {
+		final List<WeakReference<Person>> refs = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			final Person person = new Person();
+			final BeanPathAdapter<Person> personPA = new BeanPathAdapter<>(person, false, weakListeners);
+			personPA.bindBidirectional("name", name);
+			personPA.bindContentBidirectional("languages", null, String.class, languages, String.class, null, null);
+			name.set("Name " + i);
+			if (dispose) {
+				personPA.dispose();
+			}
+			refs.add(new WeakReference<>(person));
+		}
+		return refs;
+	}
+
+	private static void assertCollected(final List<? extends WeakReference<?>> refs) throws InterruptedException {
+		int retained = refs.size();
+		for (int i = 0; i < 20 && retained > 0; i++) {
+			System.gc();
+			Thread.sleep(50);
+			retained = 0;
+			for (final WeakReference<?> ref : refs) {
+				retained += ref.get() != null ? 1 : 0;
+			}
+		}
+		Assert.assertEquals("Adapter bean graphs still retained", 0, retained);
+	}
+
+	private static long usedHeap() throws InterruptedException {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		final Runtime rt = Runtime.getRuntime();
+		return rt.totalMemory() - rt.freeMemory();
+	}
+
+	/**
+	 * Test bean
+	 */
+	public static class Person {
+		private String name;
+		private List<String> languages;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(final String name) {
+			this.name = name;
+		}
+
+		public List<String> getLanguages() {
+			return languages;
+		}
+
+		public void setLanguages(final List<String> languages) {
+			this.languages = languages;
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/**
+ * GridSelectionModelTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.scene.control.grid;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the {@link GridSelectionModel} follows changes of the items:
+ * <ul>
+ *     <li>removeAtTail: removing the last selected item leaves nothing selected</li>
+ *     <li>removeRange: removing a range drops its selection and moves the selection behind it</li>
+ *     <li>insertBeforeSelection: the selection moves with the items behind an insertion</li>
+ *     <li>permutation: the selection moves with the items when they are sorted</li>
+ *     <li>invertedRemove: the same holds after select all, which stores the unselected items</li>
+ * </ul>
+ */
+public class GridSelectionModelTest {
+
+	private ObservableList<String> items;
+	private GridSelectionModel<String> selectionModel;
+
+	@Before
+	public void setUp() {
+		items = FXCollections.observableArrayList("a", "b", "c", "d", "e", "f", "g");
+		selectionModel = new GridSelectionModel<>(new SimpleObjectProperty<>(items));
+	}
+
+	@Test
+	public void removeAtTail() {
+		selectionModel.select(5);
+		items.remove(5);
+		Assert.assertEquals(Collections.emptyList(), selectionModel.getSelectedItems());
+		Assert.assertFalse(selectionModel.isSelected(5));
+	}
+
+	@Test
+	public void removeRange() {
+		selectionModel.select(2);
+		items.remove(2, 4);
+		Assert.assertEquals(Collections.emptyList(), selectionModel.getSelectedItems());
+
+		selectionModel.select(1);
+		selectionModel.select(3);
+		items.remove(1, 3);
+		Assert.assertEquals(Arrays.asList("f"), selectionModel.getSelectedItems());
+		Assert.assertTrue(selectionModel.isSelected(1));
+	}
+
+	@Test
+	public void insertBeforeSelection() {
+		selectionModel.select(3);
+		items.add(0, "x");
+		Assert.assertEquals(Arrays.asList("d"), selectionModel.getSelectedItems());
+		Assert.assertTrue(selectionModel.isSelected(4));
+		Assert.assertFalse(selectionModel.isSelected(0));
+	}
+
+	@Test
+	public void permutation() {
+		selectionModel.select(0);
+		selectionModel.select(6);
+		selectionModel.select(2);
+		FXCollections.sort(items, Collections.reverseOrder());
+		Assert.assertEquals(Arrays.asList("g", "c", "a"), selectionModel.getSelectedItems());
+		Assert.assertEquals(3, selectionModel.getSelectedCount());
+	}
+
+	@Test
+	public void invertedRemove() {
+		selectionModel.selectAll();
+		selectionModel.clearSelection(5);
+		items.remove(5);
+		Assert.assertEquals(6, selectionModel.getSelectedCount());
+		Assert.assertTrue(selectionModel.isSelected(5));
+
+		selectionModel.clearSelection(2);
+		items.remove(2, 4);
+		Assert.assertEquals(Arrays.asList("a", "b", "e", "g"), selectionModel.getSelectedItems());
+
+		// new items are unselected
+		items.add(1, "x");
+		Assert.assertEquals(Arrays.asList("a", "b", "e", "g"), selectionModel.getSelectedItems());
+	}
+}
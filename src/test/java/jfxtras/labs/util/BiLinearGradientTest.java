@@ -0,0 +1,98 @@
+/**
+ * BiLinearGradientTest.java
+ *
+ * Copyright (c) 2011-2015, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.labs.util;
+
+import javafx.animation.Interpolator;
+import javafx.scene.paint.Color;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks the fixed-point rasterization of {@link BiLinearGradient} against
+ * the per-pixel {@link Interpolator} loop it replaced:
+ * <ul>
+ *     <li>matchesInterpolatedColors: every channel is within 1 of the interpolated color, for small sizes and for sizes that are filled in parallel bands</li>
+ * </ul>
+ */
+public class BiLinearGradientTest {
+    private static final int[][] SIZES = { { 1, 1 }, { 2, 3 }, { 17, 9 }, { 100, 100 }, { 255, 1 }, { 1, 255 }, { 640, 480 } };
+
+    @Test
+    public void matchesInterpolatedColors() {
+        final Color[][] CORNERS = {
+            { Color.RED, Color.BLUE, Color.LIME, Color.WHITE },
+            { Color.BLACK, Color.WHITE, Color.WHITE, Color.BLACK },
+            { Color.rgb(12, 200, 99, 0.2), Color.rgb(250, 3, 17, 0.9), Color.TRANSPARENT, Color.rgb(128, 128, 128, 0.5) }
+        };
+        for (final Color[] C : CORNERS) {
+            final BiLinearGradient GRADIENT = new BiLinearGradient(C[0], C[1], C[2], C[3]);
+            for (final int[] SIZE : SIZES) {
+                final int WIDTH  = SIZE[0];
+                final int HEIGHT = SIZE[1];
+                final int[] EXPECTED = interpolatedPixels(C[0], C[1], C[2], C[3], WIDTH, HEIGHT);
+                final int[] ACTUAL   = GRADIENT.getPixels(WIDTH, HEIGHT);
+                for (int i = 0; i < EXPECTED.length; i++) {
+                    for (int shift = 0; shift < 32; shift += 8) {
+                        final int DIFF = Math.abs(((EXPECTED[i] >> shift) & 0xff) - ((ACTUAL[i] >> shift) & 0xff));
+                        if (DIFF > 1) {
+                            Assert.fail("Pixel " + (i % WIDTH) + "," + (i / WIDTH) + " of " + WIDTH + "x" + HEIGHT + ": expected " + Integer.toHexString(EXPECTED[i]) + " but was " + Integer.toHexString(ACTUAL[i]));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The per-pixel loop that BiLinearGradient used before it stepped the
+     * channels in fixed point.
+     */
+    private static int[] interpolatedPixels(final Color COLOR_00, final Color COLOR_10, final Color COLOR_01, final Color COLOR_11, final int WIDTH, final int HEIGHT) {
+        final int[]  PIXELS          = new int[WIDTH * HEIGHT];
+        final double FRACTION_STEP_X = 1.0 / (WIDTH - 1);
+        final double FRACTION_STEP_Y = 1.0 / (HEIGHT - 1);
+        double fractionX = 0;
+        double fractionY = 0;
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                final Color X1 = (Color) Interpolator.LINEAR.interpolate(COLOR_00, COLOR_10, fractionX);
+                final Color X2 = (Color) Interpolator.LINEAR.interpolate(COLOR_01, COLOR_11, fractionX);
+                PIXELS[y * WIDTH + x] = ArgbColor.fromColor((Color) Interpolator.LINEAR.interpolate(X1, X2, fractionY));
+                fractionX += FRACTION_STEP_X;
+                fractionX = fractionX > 1 ? 1 : fractionX;
+            }
+            fractionY += FRACTION_STEP_Y;
+            fractionY = fractionY > 1 ? 1 : fractionY;
+            fractionX = 0;
+        }
+        return PIXELS;
+    }
+}